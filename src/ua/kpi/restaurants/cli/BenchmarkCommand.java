@@ -0,0 +1,84 @@
+package ua.kpi.restaurants.cli;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Help.Visibility;
+import picocli.CommandLine.Option;
+import ua.kpi.restaurants.data.Config;
+import ua.kpi.restaurants.data.DataBase;
+import ua.kpi.restaurants.logic.common.exceptions.ProjectRuntimeException;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
+import ua.kpi.restaurants.test.Benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Command to execute a {@link Benchmark} of similarity search data structures.
+ *
+ * By default vocabulary is taken from the current {@link DataBase}, so the language is selected the same way
+ * as for other commands, and workload consists of misspelled vocabulary words.
+ *
+ * It accepts the following parameters:
+ * <ol>
+ *   <li>queries - number of misspelled words to correct</li>
+ *   <li>seed of the misspelled words generator</li>
+ *   <li>vocabulary - file with words separated by whitespaces to use instead of the data base</li>
+ *   <li>workload - file with a word per line to correct instead of misspelled words</li>
+ * </ol>
+ */
+@Command(name = "bench", description = "Similarity search benchmark", mixinStandardHelpOptions = true)
+public final class BenchmarkCommand implements Runnable {
+  @Option(names = {"-q", "--queries"}, description = "Number of queries", showDefaultValue = Visibility.ALWAYS)
+  private int queries = 20000;
+
+  @Option(names = "--seed", description = "Seed of the queries generator", showDefaultValue = Visibility.ALWAYS)
+  private long seed = 42;
+
+  @Option(names = "--vocabulary", description = "Vocabulary file (data base by default)")
+  private File vocabulary;
+
+  @Option(names = "--workload", description = "Workload file (misspelled vocabulary words by default)")
+  private File workload;
+
+  /**
+   * This method is called when this command is selected from the CLI.
+   * Delegates task to {@link Benchmark#execute(Collection, IntMetric, List)}
+   * or {@link Benchmark#execute(Collection, IntMetric, int, long)}.
+   */
+  @Override
+  public void run() {
+    try {
+      IntMetric<String> metric = Config.getInstance().getDistance().getMetric();
+      Collection<String> words = vocabulary == null
+          ? DataBase.getInstance().getData().keySet()
+          : read(vocabulary, new HashSet<>(), false);
+
+      if (workload == null) {
+        Benchmark.execute(words, metric, queries, seed);
+      } else {
+        Benchmark.execute(words, metric, read(workload, new ArrayList<>(), true));
+      }
+    } catch (IOException e) {
+      throw new ProjectRuntimeException("Error while reading benchmark data", e);
+    }
+  }
+
+  private static <C extends Collection<String>> C read(File file, C result, boolean lines) throws IOException {
+    try (Scanner scanner = new Scanner(new FileInputStream(file), "utf-8")) {
+      while (lines ? scanner.hasNextLine() : scanner.hasNext()) {
+        String word = lines ? scanner.nextLine().trim() : scanner.next();
+        if (!word.isEmpty()) {
+          result.add(word);
+        }
+      }
+    }
+
+    return result;
+  }
+}
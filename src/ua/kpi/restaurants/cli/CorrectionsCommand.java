@@ -0,0 +1,121 @@
+package ua.kpi.restaurants.cli;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Help.Visibility;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+import ua.kpi.restaurants.data.Config;
+import ua.kpi.restaurants.data.DataBase;
+import ua.kpi.restaurants.logic.common.exceptions.ProjectRuntimeException;
+import ua.kpi.restaurants.logic.common.utils.Serializer;
+import ua.kpi.restaurants.logic.strategies.preprocessing.Preprocessor;
+import ua.kpi.restaurants.logic.strategies.preprocessing.QueryPreprocessor;
+import ua.kpi.restaurants.logic.strategies.preprocessing.routines.QueryDenoiser;
+import ua.kpi.restaurants.logic.strategies.preprocessing.routines.SpellingCorrector;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Command to precompute spelling corrections for the words users actually misspell.
+ *
+ * It reads queries from the server log ({@code "Received request"} records written by
+ * {@link ua.kpi.restaurants.network.server.Worker}), preprocesses them the same way the server does, collects
+ * the words that are missing from the {@link DataBase} index, corrects them in parallel and writes the table
+ * of corrections with native serialization. {@link SpellingCorrector} consults this table before searching
+ * for similar words if it is set by {@code ua.kpi.restaurants.data.Config.corrections} property.
+ *
+ * The table depends on the data base, so it must be rebuilt after the data set or its settings are changed.
+ *
+ * It accepts the following parameters:
+ * <ol>
+ *   <li>logs - log files to read queries from</li>
+ *   <li>output - file to write the table to ({@code ua.kpi.restaurants.data.Config.corrections} by default)</li>
+ *   <li>minCount - least number of occurrences of a word to include it in the table</li>
+ * </ol>
+ */
+@Command(
+    name = "corrections",
+    description = "Precompute spelling corrections from server logs",
+    mixinStandardHelpOptions = true
+)
+public final class CorrectionsCommand implements Runnable {
+  private static final Logger LOGGER = Logger.getLogger(CorrectionsCommand.class.getName());
+  private static final Pattern REQUEST =
+      Pattern.compile("Received request: Request: \\{ (.*), (?:Location: .*|null) }$");
+
+  @Parameters(arity = "1..*", description = "Log files")
+  private File[] logs;
+
+  @Option(names = {"-o", "--output"}, description = "Output file (data.Config.corrections by default)")
+  private File output;
+
+  @Option(names = {"-m", "--min-count"}, description = "Least number of occurrences",
+      showDefaultValue = Visibility.ALWAYS)
+  private int minCount = 1;
+
+  /**
+   * This method is called when this command is selected from the CLI.
+   * Delegates task to {@link Serializer#serializeNative(String, java.io.Serializable)}.
+   */
+  @Override
+  public void run() {
+    String filename = output != null
+        ? output.getPath()
+        : Config.getInstance().getProperty("ua.kpi.restaurants.data.Config.corrections");
+
+    Set<String> correctWords = DataBase.getInstance().getData().keySet();
+    QueryDenoiser denoiser = new QueryDenoiser(DataBase.getInstance().getStopWords());
+    Map<String, Integer> counts = new HashMap<>();
+
+    Preprocessor.Builder builder = new QueryPreprocessor.Builder()
+        .setDenoiser(denoiser)
+        .setSpellingCorrector(word -> {
+          if (!correctWords.contains(word)) {
+            counts.merge(word, 1, Integer::sum);
+          }
+
+          return word;
+        })
+        .setStemmer(Config.getInstance().getLanguage().getProperties().getStemmer()
+            .withDictionary(DataBase.getInstance().getStems()));
+
+    try {
+      int queries = 0;
+      for (File log : logs) {
+        try (Scanner scanner = new Scanner(new FileInputStream(log), "utf-8")) {
+          while (scanner.hasNextLine()) {
+            Matcher matcher = REQUEST.matcher(scanner.nextLine());
+            if (matcher.find()) {
+              builder.build(matcher.group(1).trim().toLowerCase()).forEachRemaining(word -> {});
+              queries++;
+            }
+          }
+        }
+      }
+
+      SpellingCorrector corrector = new SpellingCorrector(correctWords, denoiser,
+          DataBase.getInstance().getSimilarities(), 0);
+      HashMap<String, String> corrections = counts.entrySet().parallelStream()
+          .filter(entry -> entry.getValue() >= minCount)
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toMap(Function.identity(), corrector, (a, b) -> a, HashMap::new));
+
+      Serializer.serializeNative(filename, corrections);
+      LOGGER.info(String.format("%d corrections of %d queries are written to '%s'",
+          corrections.size(), queries, filename));
+    } catch (IOException e) {
+      throw new ProjectRuntimeException("Error while building corrections", e);
+    }
+  }
+}
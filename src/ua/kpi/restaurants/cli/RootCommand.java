@@ -5,6 +5,7 @@ import picocli.CommandLine.Command;
 import ua.kpi.restaurants.data.Config;
 import ua.kpi.restaurants.data.DataBase;
 import ua.kpi.restaurants.logic.common.algorithms.SimilaritySet;
+import ua.kpi.restaurants.logic.common.utils.Serializer;
 import ua.kpi.restaurants.logic.representation.Dish;
 import ua.kpi.restaurants.logic.strategies.handling.AnalyticalHandler;
 import ua.kpi.restaurants.logic.strategies.handling.HandlingStrategy;
@@ -13,15 +14,27 @@ import ua.kpi.restaurants.logic.strategies.preprocessing.QueryPreprocessor;
 import ua.kpi.restaurants.logic.strategies.preprocessing.routines.QueryDenoiser;
 import ua.kpi.restaurants.logic.strategies.preprocessing.routines.SpellingCorrector;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.logging.Logger;
 
 /**
  * Root command for the CLI.
  *
  * It is responsible for {@link HandlingStrategy} initialization.
  */
-@Command(subcommands = {ServerCommand.class, ClientCommand.class, TestCommand.class}, mixinStandardHelpOptions = true)
+@Command(
+    subcommands = {
+        ServerCommand.class, ClientCommand.class, TestCommand.class, BenchmarkCommand.class, CorrectionsCommand.class
+    },
+    mixinStandardHelpOptions = true
+)
 public final class RootCommand implements Runnable {
+  private static final Logger LOGGER = Logger.getLogger(RootCommand.class.getName());
+
   private final HandlingStrategy<Dish> strategy;
 
   /**
@@ -34,12 +47,37 @@ public final class RootCommand implements Runnable {
 
     Preprocessor.Builder builder = new QueryPreprocessor.Builder()
         .setDenoiser(denoiser)
-        .setSpellingCorrector(new SpellingCorrector(correctWords, denoiser, similarities))
-        .setStemmer(Config.getInstance().getLanguage().getProperties().getStemmer());
+        .setSpellingCorrector(new SpellingCorrector(correctWords, denoiser, similarities,
+            Config.getInstance().getCorrectionCacheSize(), loadCorrections(correctWords)))
+        .setStemmer(Config.getInstance().getLanguage().getProperties().getStemmer()
+            .withCache(Config.getInstance().getStemmerCacheSize())
+            .withDictionary(DataBase.getInstance().getStems()));
 
     strategy = new AnalyticalHandler(builder, DataBase.getInstance().getData());
   }
 
+  /*
+   * Corrections table is optional: if it is not configured or can not be read, all the words are corrected
+   * at query time. Entries that refer to words missing from the data base are dropped (stale table).
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<String, String> loadCorrections(Set<String> correctWords) {
+    String filename = Config.getInstance().getProperty("ua.kpi.restaurants.data.Config.corrections", null);
+    if (filename == null || !new File(filename).exists()) {
+      return Collections.emptyMap();
+    }
+
+    try {
+      Map<String, String> corrections = (Map<String, String>) Serializer.deserializeNative(filename);
+      corrections.values().removeIf(word -> !word.isEmpty() && !correctWords.contains(word));
+      LOGGER.info(String.format("%d corrections are loaded from '%s'", corrections.size(), filename));
+      return corrections;
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      LOGGER.warning(String.format("'%s' is not a table of corrections (%s), ignoring", filename, e));
+      return Collections.emptyMap();
+    }
+  }
+
   /**
    * Retrieves current algorithm strategy.
    *
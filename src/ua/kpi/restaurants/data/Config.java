@@ -1,14 +1,29 @@
 package ua.kpi.restaurants.data;
 
 import org.jetbrains.annotations.NotNull;
+import ua.kpi.restaurants.logic.common.algorithms.BKTreeSet;
+import ua.kpi.restaurants.logic.common.algorithms.FlatBKTreeSet;
+import ua.kpi.restaurants.logic.common.algorithms.LevensteinAutomatonSet;
+import ua.kpi.restaurants.logic.common.algorithms.SimilaritySet;
+import ua.kpi.restaurants.logic.common.algorithms.SymSpellSet;
+import ua.kpi.restaurants.logic.common.algorithms.TrigramSet;
+import ua.kpi.restaurants.logic.common.algorithms.VPTreeSet;
 import ua.kpi.restaurants.logic.common.exceptions.InvalidPropertyException;
 import ua.kpi.restaurants.logic.common.exceptions.ProjectRuntimeException;
+import ua.kpi.restaurants.logic.common.utils.metrics.Levenstein;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.Metric;
+import ua.kpi.restaurants.logic.common.utils.metrics.MyersLevenstein;
+import ua.kpi.restaurants.logic.strategies.preprocessing.routines.SpellingCorrector;
+import ua.kpi.restaurants.logic.strategies.preprocessing.routines.Stemmer;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.Properties;
+import java.util.function.BiFunction;
 
 /**
  * Contains major app configurations.
@@ -28,6 +43,20 @@ import java.util.Properties;
  *   <li>{@code ua.kpi.restaurants.data.Config.dataSet.delimiter} - delimiters separating data base fields (as regexp)</li>
  * </ul>
  *
+ * The following properties are optional:
+ * <ul>
+ *   <li>{@code ua.kpi.restaurants.data.Config.metric} - metric used for similarity search (see {@link Distance},
+ *   {@code LEVENSTEIN} by default)</li>
+ *   <li>{@code ua.kpi.restaurants.data.Config.similarities} - data structure used for similarity search
+ *   (see {@link Similarity}, {@code BK_TREE} by default)</li>
+ *   <li>{@code ua.kpi.restaurants.data.Config.corrections.cacheSize} - maximal number of cached spelling
+ *   corrections ({@code 0} disables caching, {@link SpellingCorrector#DEFAULT_CACHE_SIZE} by default)</li>
+ *   <li>{@code ua.kpi.restaurants.data.Config.corrections} - path to file with precomputed spelling corrections
+ *   (see {@link ua.kpi.restaurants.cli.CorrectionsCommand}, words are corrected at query time if it is not set)</li>
+ *   <li>{@code ua.kpi.restaurants.data.Config.stemmer.cacheSize} - maximal number of cached stems of query words
+ *   ({@code 0} disables caching, {@link Stemmer#DEFAULT_CACHE_SIZE} by default)</li>
+ * </ul>
+ *
  * Example of configuration file:
  * <pre>
  *   <code>
@@ -44,10 +73,16 @@ import java.util.Properties;
  * with delimiter specified by {@code ua.kpi.restaurants.data.Config.dataSet.delimiter} property.
  *
  * @see Language
+ * @see Distance
+ * @see Similarity
  */
 public final class Config {
   private final Properties properties = new Properties();
   private final Language language;
+  private final Distance distance;
+  private final Similarity similarity;
+  private final int correctionCacheSize;
+  private final int stemmerCacheSize;
 
   private static final class InstanceHolder {
     private static final Config instance = new Config();
@@ -84,6 +119,82 @@ public final class Config {
     }
   }
 
+  /**
+   * Provides access to all available metrics for similarity search.
+   *
+   * @see Levenstein
+   * @see MyersLevenstein
+   */
+  public enum Distance {
+    /** Specifies classic dynamic programming Levenstein distance. */
+    LEVENSTEIN(new Levenstein()),
+
+    /** Specifies bit-parallel Levenstein distance. */
+    MYERS(new MyersLevenstein());
+
+    private final IntMetric<String> metric;
+
+    Distance(IntMetric<String> metric) {
+      this.metric = metric;
+    }
+
+    /**
+     * Provides access to {@link IntMetric} instance for current distance.
+     *
+     * @return instance of {@link IntMetric}
+     */
+    public IntMetric<String> getMetric() {
+      return metric;
+    }
+  }
+
+  /**
+   * Provides access to all available data structures for similarity search.
+   *
+   * @see BKTreeSet
+   * @see FlatBKTreeSet
+   * @see SymSpellSet
+   * @see VPTreeSet
+   * @see TrigramSet
+   * @see LevensteinAutomatonSet
+   */
+  public enum Similarity {
+    /** Specifies mutable BK-tree (see {@link BKTreeSet#build(Collection, Metric)}). */
+    BK_TREE(BKTreeSet::build),
+
+    /** Specifies frozen array-based BK-tree. */
+    FLAT_BK_TREE(FlatBKTreeSet::new),
+
+    /** Specifies symmetric delete index. */
+    SYMMETRIC_DELETE(SymSpellSet::new),
+
+    /** Specifies vantage-point tree. */
+    VP_TREE(VPTreeSet::new),
+
+    /** Specifies character trigram index. */
+    TRIGRAM(TrigramSet::new),
+
+    /** Specifies Levenstein automaton over a trie (it always uses Levenstein distance, metric is ignored). */
+    LEVENSTEIN_AUTOMATON((words, metric) -> new LevensteinAutomatonSet(words));
+
+    private final BiFunction<Collection<String>, IntMetric<String>, SimilaritySet<String>> factory;
+
+    Similarity(BiFunction<Collection<String>, IntMetric<String>, SimilaritySet<String>> factory) {
+      this.factory = factory;
+    }
+
+    /**
+     * Constructs {@link SimilaritySet} instance for the specified words.
+     *
+     * @param words to construct data structure from (must not be {@code null})
+     * @param metric to construct data structure on (must not be {@code null})
+     * @return instance of {@link SimilaritySet}
+     */
+    public SimilaritySet<String> create(@NotNull Collection<String> words, @NotNull IntMetric<String> metric) {
+      return factory.apply(words, metric);
+    }
+  }
+
   private Config() {
     String filename = System.getProperty("ua.kpi.restaurants.data.Config.properties");
     if (filename == null) {
@@ -108,6 +219,44 @@ public final class Config {
     } catch (IllegalArgumentException e) {
       throw new InvalidPropertyException("'ua.kpi.restaurants.data.Config.language' is invalid", e);
     }
+
+    try {
+      String name = getProperty("ua.kpi.restaurants.data.Config.metric", Distance.LEVENSTEIN.name());
+      distance = Distance.valueOf(name);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidPropertyException("'ua.kpi.restaurants.data.Config.metric' is invalid", e);
+    }
+
+    try {
+      String name = getProperty("ua.kpi.restaurants.data.Config.similarities", Similarity.BK_TREE.name());
+      similarity = Similarity.valueOf(name);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidPropertyException("'ua.kpi.restaurants.data.Config.similarities' is invalid", e);
+    }
+
+    try {
+      String size = getProperty("ua.kpi.restaurants.data.Config.corrections.cacheSize",
+          String.valueOf(SpellingCorrector.DEFAULT_CACHE_SIZE));
+      correctionCacheSize = Integer.parseInt(size.trim());
+    } catch (NumberFormatException e) {
+      throw new InvalidPropertyException("'ua.kpi.restaurants.data.Config.corrections.cacheSize' is invalid", e);
+    }
+
+    if (correctionCacheSize < 0) {
+      throw new InvalidPropertyException("'ua.kpi.restaurants.data.Config.corrections.cacheSize' is invalid");
+    }
+
+    try {
+      String size = getProperty("ua.kpi.restaurants.data.Config.stemmer.cacheSize",
+          String.valueOf(Stemmer.DEFAULT_CACHE_SIZE));
+      stemmerCacheSize = Integer.parseInt(size.trim());
+    } catch (NumberFormatException e) {
+      throw new InvalidPropertyException("'ua.kpi.restaurants.data.Config.stemmer.cacheSize' is invalid", e);
+    }
+
+    if (stemmerCacheSize < 0) {
+      throw new InvalidPropertyException("'ua.kpi.restaurants.data.Config.stemmer.cacheSize' is invalid");
+    }
   }
 
   /**
@@ -128,6 +277,38 @@ public final class Config {
     return language;
   }
 
+  /**
+   * Provides access to the metric currently in use for similarity search.
+   * @return instance of {@link Distance} enum
+   */
+  public Distance getDistance() {
+    return distance;
+  }
+
+  /**
+   * Provides access to the data structure currently in use for similarity search.
+   * @return instance of {@link Similarity} enum
+   */
+  public Similarity getSimilarity() {
+    return similarity;
+  }
+
+  /**
+   * Provides access to the maximal number of cached spelling corrections.
+   * @return maximal size of the corrections cache ({@code 0} if caching is disabled)
+   */
+  public int getCorrectionCacheSize() {
+    return correctionCacheSize;
+  }
+
+  /**
+   * Provides access to the maximal number of cached stems of query words.
+   * @return maximal size of the stems cache ({@code 0} if caching is disabled)
+   */
+  public int getStemmerCacheSize() {
+    return stemmerCacheSize;
+  }
+
   /**
    * Provides access to some property by its name.
    * @param name property name (must not be {@code null})
@@ -142,4 +323,14 @@ public final class Config {
 
     return result;
   }
+
+  /**
+   * Provides access to some optional property by its name.
+   * @param name property name (must not be {@code null})
+   * @param defaultValue value to use if property does not exist
+   * @return property value for specified key or {@code defaultValue}
+   */
+  public String getProperty(@NotNull String name, String defaultValue) {
+    return properties.getProperty(name, defaultValue);
+  }
 }
@@ -2,12 +2,16 @@ package ua.kpi.restaurants.data;
 
 import org.jetbrains.annotations.NotNull;
 import ua.kpi.restaurants.logic.common.algorithms.BKTreeSet;
+import ua.kpi.restaurants.logic.common.algorithms.PartitionedSimilaritySet;
 import ua.kpi.restaurants.logic.common.algorithms.SimilaritySet;
 import ua.kpi.restaurants.logic.common.exceptions.ProjectRuntimeException;
 import ua.kpi.restaurants.logic.strategies.preprocessing.Preprocessor;
 import ua.kpi.restaurants.logic.strategies.preprocessing.QueryPreprocessor;
 import ua.kpi.restaurants.logic.strategies.preprocessing.routines.QueryDenoiser;
+import ua.kpi.restaurants.logic.strategies.preprocessing.routines.StemDictionary;
+import ua.kpi.restaurants.logic.strategies.preprocessing.routines.Stemmer;
 import ua.kpi.restaurants.logic.common.utils.Serializer;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
 import ua.kpi.restaurants.logic.common.utils.metrics.Levenstein;
 import ua.kpi.restaurants.logic.representation.Dish;
 import ua.kpi.restaurants.logic.representation.Location;
@@ -15,6 +19,7 @@ import ua.kpi.restaurants.logic.representation.Restaurant;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InvalidClassException;
 import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -24,6 +29,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.logging.Logger;
 import java.util.regex.Pattern;
 
 /**
@@ -41,6 +47,9 @@ import java.util.regex.Pattern;
  *
  * If {@code ua.kpi.restaurants.data.Config.dataBase} contains no file, data base is initialized using properties defined
  * above and serialized to that path. If that property has an appropriate file, it is deserialized and used as a data base instance.
+ * If the deserialized instance was built with other similarity settings (see {@link Config#getDistance()} and
+ * {@link Config#getSimilarity()}) or was written
+ * by an incompatible version of the application, data base is initialized again and the file is overwritten.
  * If deserialization is not possible, exception is thrown.
  *
  * It uses {@link LanguageProperties} instance from {@link Config} class.
@@ -56,7 +65,12 @@ import java.util.regex.Pattern;
  *
  * The final data is cleaned using the rules from {@link LanguageProperties#getDataConstraint()}.
  *
- * Similarities are initialized using {@link BKTreeSet} with {@link Levenstein} metric using keys from {@code index}.
+ * Stems of all the description words computed while the {@code index} is built are kept in a {@link StemDictionary}
+ * (see {@link #getStems()}), so query words found in descriptions are not stemmed again.
+ *
+ * Similarities are initialized using data structure from {@link Config#getSimilarity()} ({@link BKTreeSet} by default)
+ * with metric from {@link Config#getDistance()} ({@link Levenstein} by default) using keys from {@code index}.
+ * Keys are partitioned by their first character (see {@link PartitionedSimilaritySet}), one data structure per partition.
  *
  * @see Config
  * @see LanguageProperties
@@ -64,10 +78,14 @@ import java.util.regex.Pattern;
  * @see Levenstein
  */
 public final class DataBase implements Serializable {
-  private static final long serialVersionUID = -7408309477031815349L;
+  private static final long serialVersionUID = -1867206733528903741L;
+  private static final Logger LOGGER = Logger.getLogger(DataBase.class.getName());
 
+  private final Config.Distance distance;
+  private final Config.Similarity similarity;
   private final Set<String> stopWords;
   private final Map<String, Set<Dish>> index;
+  private final StemDictionary stems;
   private final SimilaritySet<String> similarities;
 
   private static final class InstanceHolder {
@@ -76,21 +94,37 @@ public final class DataBase implements Serializable {
     static {
       try {
         String db = Config.getInstance().getProperty("ua.kpi.restaurants.data.Config.dataBase");
+        DataBase instance = Files.exists(Paths.get(db)) ? load(db) : null;
 
-        if (Files.exists(Paths.get(db))) {
-          ourInstance = (DataBase) Serializer.deserializeNative(db);
-        } else {
+        if (instance == null) {
           String stopWords = Config.getInstance().getProperty("ua.kpi.restaurants.data.Config.stopWords");
           String dataSet = Config.getInstance().getProperty("ua.kpi.restaurants.data.Config.dataSet");
           String delimiter = Config.getInstance().getProperty("ua.kpi.restaurants.data.Config.dataSet.delimiter");
 
-          ourInstance = new DataBase(stopWords, dataSet, delimiter);
-          Serializer.serializeNative(db, ourInstance);
+          instance = new DataBase(stopWords, dataSet, delimiter);
+          Serializer.serializeNative(db, instance);
         }
+
+        ourInstance = instance;
       } catch (IOException | ClassNotFoundException e) {
         throw new ProjectRuntimeException("Error while loading database", e);
       }
     }
+
+    private static DataBase load(String filename) throws IOException, ClassNotFoundException {
+      try {
+        DataBase instance = (DataBase) Serializer.deserializeNative(filename);
+        if (instance.isUpToDate()) {
+          return instance;
+        }
+
+        LOGGER.info(String.format("'%s' was built with other settings, rebuilding", filename));
+      } catch (InvalidClassException e) {
+        LOGGER.info(String.format("'%s' is incompatible (%s), rebuilding", filename, e.getMessage()));
+      }
+
+      return null;
+    }
   }
 
   /**
@@ -104,10 +138,18 @@ public final class DataBase implements Serializable {
   }
 
   private DataBase(String stopWordsPath, String dataSetPath, String delimiters) throws IOException {
+    distance = Config.getInstance().getDistance();
+    similarity = Config.getInstance().getSimilarity();
     stopWords = Collections.unmodifiableSet(processStopWords(stopWordsPath));
-    index = Collections.unmodifiableMap(processDataSet(dataSetPath, delimiters));
-    similarities = new BKTreeSet(new Levenstein());
-    similarities.addAll(index.keySet());
+    Map<String, String> stemsOf = new HashMap<>();
+    index = Collections.unmodifiableMap(processDataSet(dataSetPath, delimiters, stemsOf));
+    stems = new StemDictionary(stemsOf);
+    IntMetric<String> metric = distance.getMetric();
+    similarities = new PartitionedSimilaritySet(index.keySet(), words -> similarity.create(words, metric));
+  }
+
+  private boolean isUpToDate() {
+    return distance == Config.getInstance().getDistance() && similarity == Config.getInstance().getSimilarity();
   }
 
   private static Set<String> processStopWords(String filename) throws IOException {
@@ -122,14 +164,16 @@ public final class DataBase implements Serializable {
     return words;
   }
 
-  private Map<String, Set<Dish>> processDataSet(String filename, String sep) throws IOException {
+  private Map<String, Set<Dish>> processDataSet(String filename, String sep, Map<String, String> stems)
+      throws IOException {
     Map<String, Restaurant> map = new HashMap<>();
     Map<String, Set<Dish>> dishes = new HashMap<>();
     Pattern pattern = Pattern.compile(sep);
     LanguageProperties properties = Config.getInstance().getLanguage().getProperties();
+    Stemmer stemmer = properties.getStemmer();
     Preprocessor.Builder builder = new QueryPreprocessor.Builder()
         .setDenoiser(new QueryDenoiser(stopWords))
-        .setStemmer(properties.getStemmer())
+        .setStemmer(word -> stems.computeIfAbsent(word, stemmer))
         .addFilter(properties.getWordConstraint());
 
     try (Scanner scanner = new Scanner(new FileInputStream(filename), "utf-8")) {
@@ -160,6 +204,15 @@ public final class DataBase implements Serializable {
     return stopWords;
   }
 
+  /**
+   * Provides access to stems of the words from dish descriptions.
+   * @return {@link StemDictionary} of description words
+   */
+  @NotNull
+  public StemDictionary getStems() {
+    return stems;
+  }
+
   /**
    * Provides access to the set of similar words.
    * @return {@link SimilaritySet} instance of word similarities
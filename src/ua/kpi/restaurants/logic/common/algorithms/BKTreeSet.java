@@ -2,10 +2,14 @@ package ua.kpi.restaurants.logic.common.algorithms;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import ua.kpi.restaurants.logic.common.utils.metrics.BoundedMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
 import ua.kpi.restaurants.logic.common.utils.metrics.Metric;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Implementation of the <a href="https://en.wikipedia.org/wiki/BK-tree">BK-tree</a> data structure.
@@ -16,17 +20,32 @@ import java.util.*;
  *
  * It is not the most reasonable choice for fuzzy string search as it does not support queries about the most similar
  * word efficiently (VP-tree might be more suitable). Nevertheless, it is easy to implement and use.
+ *
+ * Distances are computed as primitive values (see {@link IntMetric}), other metrics are adapted using
+ * {@link IntMetric#of(Metric)}. If the metric is a {@link BoundedMetric}, searches compute distances only up to
+ * the radius that still matters for the node under consideration (search threshold plus the largest edge to its children).
+ *
+ * Nodes are never modified after they are published. Every modification copies the nodes on the path from the root
+ * to the changed node and publishes the new root (together with the size) by a single volatile write. Thus searches
+ * and iterators work on a consistent snapshot, never block and may run concurrently with a modification, and
+ * {@link #snapshot()} takes constant time. Modifications are serialized by the lock of the tree.
+ *
+ * Removed words are kept in the tree as tombstones (they still guide searches but are never reported).
+ * As soon as tombstones outnumber the words, the tree is rebuilt from the remaining words (see {@link #compact()}).
  */
 public final class BKTreeSet extends AbstractSet<String> implements SimilaritySet<String>, Serializable {
-  private static final long serialVersionUID = 848895510913565910L;
+  private static final long serialVersionUID = -5520493170069424113L;
 
   /** Default threshold for search */
   public static final int DEFAULT_THRESHOLD = 2;
 
-  private Node root;
-  private int size = 0;
+  private static final int PIVOT_CANDIDATES = 16;
+  private static final int PIVOT_SAMPLE = 64;
+  private static final int PARALLEL_THRESHOLD = 256;
+
+  private volatile State state = State.EMPTY;
   private int threshold;
-  private final Metric<String, Integer> metric;
+  private final IntMetric<String> metric;
 
   /**
    * Constructs the tree for the specified metric.
@@ -49,7 +68,168 @@ public final class BKTreeSet extends AbstractSet<String> implements SimilaritySe
   public BKTreeSet(@NotNull Metric<String, Integer> metric, int threshold) {
     super();
     this.threshold = validateThreshold(threshold);
-    this.metric = metric;
+    this.metric = IntMetric.of(metric);
+  }
+
+  /**
+   * Constructs balanced tree from the specified words and metric.
+   *
+   * Delegates the task to {@link #build(Collection, Metric, int)}.
+   *
+   * @param words - words to construct tree from (must not be {@code null})
+   * @param metric - metric to construct tree on (must not be {@code null})
+   * @return constructed tree
+   */
+  @NotNull
+  public static BKTreeSet build(@NotNull Collection<String> words, @NotNull Metric<String, Integer> metric) {
+    return build(words, metric, DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs balanced tree from the specified words, metric and search threshold.
+   *
+   * Delegates the task to {@link #build(Collection, Metric, int, ForkJoinPool)} with the common {@link ForkJoinPool}.
+   *
+   * @param words - words to construct tree from (must not be {@code null})
+   * @param metric - metric to construct tree on (must not be {@code null})
+   * @param threshold - search threshold
+   * @return constructed tree
+   * @throws IllegalArgumentException if threshold id < 0
+   */
+  @NotNull
+  public static BKTreeSet build(
+      @NotNull Collection<String> words,
+      @NotNull Metric<String, Integer> metric,
+      int threshold
+  ) {
+    return build(words, metric, threshold, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs balanced tree from the specified words, metric and search threshold using the given pool.
+   *
+   * Unlike {@link #addAll(Collection)}, which makes the first word the root and the first word of every distance
+   * its child, the root of every subtree is chosen among several evenly spaced candidates as the one that splits
+   * the remaining words into the most even groups by distance (i.e. the smallest largest group).
+   * Candidates are evaluated on a sample of the words, so construction takes {@code O(n)} metric evaluations
+   * per tree level. Words are sorted first, so the same words always produce the same tree.
+   *
+   * Tree constructed this way is shallower and its searches evaluate metric fewer times.
+   * It can be modified afterwards as usual.
+   *
+   * Subtrees of large groups are constructed in parallel on the given pool, so the metric must be thread-safe.
+   * Every subtree depends only on its words, so the result does not depend on the parallelism of the pool.
+   *
+   * @param words - words to construct tree from (must not be {@code null})
+   * @param metric - metric to construct tree on (must not be {@code null})
+   * @param threshold - search threshold
+   * @param pool - pool to construct subtrees on (must not be {@code null})
+   * @return constructed tree
+   * @throws IllegalArgumentException if threshold id < 0
+   */
+  @NotNull
+  public static BKTreeSet build(
+      @NotNull Collection<String> words,
+      @NotNull Metric<String, Integer> metric,
+      int threshold,
+      @NotNull ForkJoinPool pool
+  ) {
+    BKTreeSet tree = new BKTreeSet(metric, threshold);
+    tree.state = tree.buildState(new TreeSet<>(words), pool);
+    return tree;
+  }
+
+  private State buildState(SortedSet<String> words, ForkJoinPool pool) {
+    List<String> sorted = new ArrayList<>(words);
+    Node root = sorted.size() < PARALLEL_THRESHOLD
+        ? buildNode(sorted)
+        : pool.invoke(new BuildTask(sorted));
+    return new State(root, sorted.size(), 0);
+  }
+
+  private final class BuildTask extends RecursiveTask<Node> {
+    private static final long serialVersionUID = 5217743361640381526L;
+    private final List<String> words;
+
+    private BuildTask(List<String> words) {
+      this.words = words;
+    }
+
+    @Override
+    protected Node compute() {
+      if (words.size() < PARALLEL_THRESHOLD) return buildNode(words);
+
+      int pivot = choosePivot(words);
+      Node node = new Node(words.get(pivot));
+
+      int[] dists = new int[words.size()];
+      Arrays.parallelSetAll(dists, i -> metric.applyAsInt(words.get(i), node.word));
+
+      SortedMap<Integer, BuildTask> tasks = new TreeMap<>();
+      group(words, pivot, dists).forEach((dist, group) -> tasks.put(dist, new BuildTask(group)));
+      invokeAll(tasks.values());
+
+      tasks.forEach((dist, task) -> node.next.put(dist, task.join()));
+      return node;
+    }
+  }
+
+  @Nullable
+  private Node buildNode(List<String> words) {
+    if (words.isEmpty()) return null;
+
+    int pivot = choosePivot(words);
+    Node node = new Node(words.get(pivot));
+
+    int[] dists = new int[words.size()];
+    for (int i = 0; i < dists.length; i++) {
+      dists[i] = metric.applyAsInt(words.get(i), node.word);
+    }
+
+    group(words, pivot, dists).forEach((dist, group) -> node.next.put(dist, buildNode(group)));
+    return node;
+  }
+
+  private static SortedMap<Integer, List<String>> group(List<String> words, int pivot, int[] dists) {
+    SortedMap<Integer, List<String>> groups = new TreeMap<>();
+    for (int i = 0; i < words.size(); i++) {
+      if (i != pivot) {
+        groups.computeIfAbsent(dists[i], key -> new ArrayList<>()).add(words.get(i));
+      }
+    }
+
+    return groups;
+  }
+
+  private int choosePivot(List<String> words) {
+    if (words.size() <= 2) return 0;
+
+    int candidates = Math.min(PIVOT_CANDIDATES, words.size());
+    int samples = Math.min(PIVOT_SAMPLE, words.size());
+    int best = 0;
+    int bestLargest = Integer.MAX_VALUE, bestGroups = 0;
+
+    for (int c = 0; c < candidates; c++) {
+      int candidate = (int) ((long) c * words.size() / candidates);
+      Map<Integer, Integer> counts = new HashMap<>();
+      int largest = 0;
+
+      for (int s = 0; s < samples; s++) {
+        int i = (int) ((long) s * words.size() / samples);
+        if (i != candidate) {
+          int dist = metric.applyAsInt(words.get(i), words.get(candidate));
+          largest = Math.max(largest, counts.merge(dist, 1, Integer::sum));
+        }
+      }
+
+      if (largest < bestLargest || (largest == bestLargest && counts.size() > bestGroups)) {
+        best = candidate;
+        bestLargest = largest;
+        bestGroups = counts.size();
+      }
+    }
+
+    return best;
   }
 
   private static int validateThreshold(int val) {
@@ -79,45 +259,138 @@ public final class BKTreeSet extends AbstractSet<String> implements SimilaritySe
     this.threshold = validateThreshold(threshold);
   }
 
-  private static final class Node implements Entry<String>, Serializable {
+  /*
+   * Children are added to the map only while the node is under construction (not yet reachable from the state),
+   * published nodes are replaced by their modified copies.
+   */
+  private static final class Node implements Serializable {
     private final static long serialVersionUID = -8541287700963696248L;
     private final String word;
+    private final boolean deleted;
     private final SortedMap<Integer, Node> next;
-    private int sim;
 
     private Node(String word) {
+      this(word, false, new TreeMap<>());
+    }
+
+    private Node(String word, boolean deleted, SortedMap<Integer, Node> next) {
       this.word = word;
-      this.next = new TreeMap<>();
+      this.deleted = deleted;
+      this.next = next;
     }
 
-    @NotNull
-    @Override
-    public String getElement() {
-      return word;
+    private Node withChild(int dist, Node child) {
+      SortedMap<Integer, Node> copy = new TreeMap<>(next);
+      copy.put(dist, child);
+      return new Node(word, deleted, copy);
     }
 
-    @Override
-    public double getSimilarity() {
-      return sim;
+    private Node withDeleted(boolean deleted) {
+      return new Node(word, deleted, next);
     }
+  }
 
-    @Override
-    public int hashCode() {
-      return word.hashCode();
+  /** Immutable version of the tree: root, number of words and number of tombstones */
+  private static final class State implements Serializable {
+    private static final long serialVersionUID = 2913487201758436210L;
+    private static final State EMPTY = new State(null, 0, 0);
+
+    private final Node root;
+    private final int size;
+    private final int tombstones;
+
+    private State(Node root, int size, int tombstones) {
+      this.root = root;
+      this.size = size;
+      this.tombstones = tombstones;
     }
+  }
 
-    @Override
-    public boolean equals(Object o) {
-      if (o == null) return false;
-      if (o == this) return true;
-      if (o.getClass() != this.getClass()) return false;
-      Node that = (Node) o;
-      return that.word.equals(this.word);
+  /**
+   * Shape statistics of a tree (see {@link #getStatistics()}).
+   *
+   * Depth of the root is {@code 1}. Fan-out is the number of children of a node that has children.
+   */
+  public static final class Statistics {
+    private final int nodes;
+    private final int depth;
+    private final double averageDepth;
+    private final int maxFanOut;
+    private final double averageFanOut;
+
+    private Statistics(int nodes, int depth, double averageDepth, int maxFanOut, double averageFanOut) {
+      this.nodes = nodes;
+      this.depth = depth;
+      this.averageDepth = averageDepth;
+      this.maxFanOut = maxFanOut;
+      this.averageFanOut = averageFanOut;
+    }
+
+    /**
+     * Retrieves number of nodes
+     *
+     * @return number of nodes
+     */
+    public int getNodes() {
+      return nodes;
+    }
+
+    /**
+     * Retrieves depth of the deepest node
+     *
+     * @return tree depth
+     */
+    public int getDepth() {
+      return depth;
+    }
+
+    /**
+     * Retrieves average depth of nodes
+     *
+     * @return average depth
+     */
+    public double getAverageDepth() {
+      return averageDepth;
+    }
+
+    /**
+     * Retrieves the largest fan-out
+     *
+     * @return maximal fan-out
+     */
+    public int getMaxFanOut() {
+      return maxFanOut;
+    }
+
+    /**
+     * Retrieves average fan-out of nodes that have children
+     *
+     * @return average fan-out
+     */
+    public double getAverageFanOut() {
+      return averageFanOut;
     }
 
     @Override
     public String toString() {
-      return String.format("BKTreeSet.Node: %s (%d)", word, sim);
+      return String.format(
+          "BKTreeSet.Statistics: { nodes: %d, depth: %d, average depth: %.2f, fan-out: %d, average fan-out: %.2f }",
+          nodes, depth, averageDepth, maxFanOut, averageFanOut
+      );
+    }
+  }
+
+  private static final class Candidate {
+    private static final Comparator<Candidate> ORDER = Comparator
+        .comparingInt((Candidate c) -> c.dist)
+        .thenComparing(c -> c.node.word);
+
+    private final Node node;
+    private final int dist;
+
+    private Candidate(Node node, int dist) {
+      this.node = node;
+      this.dist = dist;
     }
   }
 
@@ -134,6 +407,10 @@ public final class BKTreeSet extends AbstractSet<String> implements SimilaritySe
 
     @Override
     public boolean hasNext() {
+      while (!queue.isEmpty() && queue.peek().deleted) {
+        queue.addAll(queue.poll().next.values());
+      }
+
       return !queue.isEmpty();
     }
 
@@ -152,35 +429,162 @@ public final class BKTreeSet extends AbstractSet<String> implements SimilaritySe
   /**
    * Retrieves words and their similarities to the given word
    *
+   * Delegates the task to {@link #getSimilarTo(String, SimilarityBuffer)}.
+   *
    * @param word - word to compute similarities to (must not be {@code null})
    * @return {@link Set} word-similarity pairs
    */
   @NotNull
   @Override
   public Set<Entry<String>> getSimilarTo(@NotNull String word) {
-    if (word.isEmpty()) return Collections.emptySet();
+    SimilarityBuffer<String> buffer = new SimilarityBuffer<>();
+    getSimilarTo(word, buffer);
+    return buffer.toSet();
+  }
 
-    Queue<Node> queue = new ArrayDeque<>();
-    Set<Entry<String>> result = new HashSet<>();
+  /**
+   * Retrieves words and their similarities to the given word into the given buffer
+   *
+   * Tree is traversed recursively and is never modified, so the only memory written is the buffer.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @param buffer - buffer to write word-similarity pairs to (must not be {@code null})
+   */
+  @Override
+  public void getSimilarTo(@NotNull String word, @NotNull SimilarityBuffer<String> buffer) {
+    buffer.clear();
 
-    queue.add(root);
+    Node root = state.root;
+    if (!word.isEmpty() && root != null) {
+      collectSimilar(root, word, threshold, buffer);
+    }
+  }
+
+  private void collectSimilar(Node node, String word, int threshold, SimilarityBuffer<String> buffer) {
+    int bound = node.next.isEmpty() ? threshold : node.next.lastKey() + threshold;
+    int dist = BoundedMetric.apply(metric, node.word, word, bound);
+    if (!node.deleted && node.word.charAt(0) == word.charAt(0) && dist <= threshold) {
+      buffer.add(node.word, dist);
+    }
+
+    int low = Math.max(1, dist - threshold), high = dist + threshold + 1;
+    for (Node child : node.next.subMap(low, high).values()) {
+      collectSimilar(child, word, threshold, buffer);
+    }
+  }
+
+  /**
+   * Retrieves at most {@code k} words most similar to the given word.
+   *
+   * Only words retrieved by {@link #getSimilarTo(String)} are considered. Nodes are visited best-first:
+   * a subtree hanging on the edge {@code e} of the node at distance {@code d} can not contain words closer
+   * than {@code |d - e|}, so subtrees are visited in the order of this bound. As soon as {@code k} words are found,
+   * search radius shrinks from the threshold to the distance of the {@code k}-th best word and the search stops
+   * when no remaining subtree can contain a better word.
+   *
+   * Words at equal distance are ordered lexicographically.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @param k - maximal number of words to retrieve
+   * @return {@link List} of word-similarity pairs sorted by similarity
+   * @throws IllegalArgumentException if k < 0
+   */
+  @NotNull
+  @Override
+  public List<Entry<String>> getMostSimilar(@NotNull String word, int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("Invalid number of elements.");
+    }
+
+    Node root = state.root;
+    if (k == 0 || word.isEmpty() || root == null) return Collections.emptyList();
+
+    PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingInt(c -> c.dist));
+    PriorityQueue<Candidate> best = new PriorityQueue<>(k, Candidate.ORDER.reversed());
+
+    queue.add(new Candidate(root, 0));
     while (!queue.isEmpty()) {
-      Node node = queue.poll();
-      if (node == null) continue;
+      Candidate next = queue.poll();
+      int radius = best.size() < k ? threshold : best.peek().dist;
+      if (next.dist > radius) break;
+
+      Node node = next.node;
+      int bound = node.next.isEmpty() ? radius : node.next.lastKey() + radius;
+      int dist = BoundedMetric.apply(metric, node.word, word, bound);
+      if (!node.deleted && node.word.charAt(0) == word.charAt(0) && dist <= radius) {
+        Candidate candidate = new Candidate(node, dist);
+        if (best.size() < k) {
+          best.add(candidate);
+        } else if (Candidate.ORDER.compare(candidate, best.peek()) < 0) {
+          best.poll();
+          best.add(candidate);
+        }
 
-      int dist = metric.apply(node.word, word);
-      if (node.word.charAt(0) == word.charAt(0) && dist <= threshold) {
-        node.sim = dist;
-        result.add(node);
+        radius = best.size() < k ? threshold : best.peek().dist;
       }
 
-      int low = Math.max(1, dist - threshold), high = dist + threshold + 1;
-      queue.addAll(node.next.subMap(low, high).values());
+      int low = Math.max(1, dist - radius), high = dist + radius + 1;
+      for (Map.Entry<Integer, Node> child : node.next.subMap(low, high).entrySet()) {
+        queue.add(new Candidate(child.getValue(), Math.abs(dist - child.getKey())));
+      }
+    }
+
+    List<Candidate> sorted = new ArrayList<>(best);
+    sorted.sort(Candidate.ORDER);
+
+    List<Entry<String>> result = new ArrayList<>(sorted.size());
+    for (Candidate candidate : sorted) {
+      result.add(new SimilarityEntry<>(candidate.node.word, candidate.dist));
     }
 
     return result;
   }
 
+  /**
+   * Computes depth and fan-out statistics of this tree.
+   *
+   * Tombstones are counted as nodes, as they still take part in searches.
+   *
+   * @return computed statistics
+   */
+  @NotNull
+  public Statistics getStatistics() {
+    int nodes = 0, depth = 0, internal = 0, maxFanOut = 0;
+    long depths = 0, children = 0;
+
+    Deque<Node> stack = new ArrayDeque<>();
+    Deque<Integer> levels = new ArrayDeque<>();
+    Node root = state.root;
+    if (root != null) {
+      stack.push(root);
+      levels.push(1);
+    }
+
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+      int level = levels.pop();
+
+      nodes++;
+      depths += level;
+      depth = Math.max(depth, level);
+
+      if (!node.next.isEmpty()) {
+        internal++;
+        children += node.next.size();
+        maxFanOut = Math.max(maxFanOut, node.next.size());
+      }
+
+      for (Node child : node.next.values()) {
+        stack.push(child);
+        levels.push(level + 1);
+      }
+    }
+
+    return new Statistics(
+        nodes, depth, nodes == 0 ? 0 : (double) depths / nodes, maxFanOut, internal == 0 ? 0 : (double) children / internal
+    );
+  }
+
   /**
    * Retrieves number of words in this data structure.
    *
@@ -188,7 +592,16 @@ public final class BKTreeSet extends AbstractSet<String> implements SimilaritySe
    */
   @Override
   public int size() {
-    return size;
+    return state.size;
+  }
+
+  /**
+   * Retrieves number of removed words that are still kept in the tree.
+   *
+   * @return number of tombstones
+   */
+  public int getTombstones() {
+    return state.tombstones;
   }
 
   /**
@@ -215,11 +628,11 @@ public final class BKTreeSet extends AbstractSet<String> implements SimilaritySe
     }
 
     String s = (String) o;
-    Node node = root;
+    Node node = state.root;
 
     while (node != null) {
-      int dist = metric.apply(node.word, s);
-      if (dist == 0) return true;
+      int dist = BoundedMetric.apply(metric, node.word, s, node.next.isEmpty() ? 0 : node.next.lastKey());
+      if (dist == 0) return !node.deleted;
       node = node.next.get(dist);
     }
 
@@ -229,73 +642,188 @@ public final class BKTreeSet extends AbstractSet<String> implements SimilaritySe
   /**
    * Retrieves {@link Iterator} for this data structure.
    *
-   * No particular order is guaranteed.
+   * No particular order is guaranteed. Iterator traverses the snapshot of the tree taken when it was created,
+   * so it is not affected by subsequent modifications. It does not support removal.
    *
    * @return retrieved {@link Iterator}
    */
   @Override
   public Iterator<String> iterator() {
-    return new BKTreeIterator(root);
+    return new BKTreeIterator(state.root);
+  }
+
+  /**
+   * Creates a copy of this tree in constant time.
+   *
+   * The copy shares all the nodes with this tree, modifications of either tree are not visible in the other one.
+   *
+   * @return copy of this tree
+   */
+  @NotNull
+  public BKTreeSet snapshot() {
+    BKTreeSet copy = new BKTreeSet(metric, threshold);
+    copy.state = state;
+    return copy;
   }
 
   /**
    * Adds element to this data structure.
    *
+   * If the element was removed before, its tombstone is revived.
+   *
    * @param s - element to add
    * @return {@code true} if addition was successful, {@code false} otherwise
    */
   @Override
-  public boolean add(@NotNull String s) {
-    if (root == null) {
-      root = new Node(s);
-    } else {
-      Node node = root;
-      while (true) {
-        int dist = metric.apply(s, node.word);
-        if (dist == 0) {
-          return false;
-        }
+  public synchronized boolean add(@NotNull String s) {
+    State current = state;
+    if (current.root == null) {
+      state = new State(new Node(s), 1, 0);
+      return true;
+    }
 
-        if (node.next.containsKey(dist)) {
-          node = node.next.get(dist);
-        } else {
-          node.next.put(dist, new Node(s));
-          break;
-        }
+    List<Node> path = new ArrayList<>();
+    List<Integer> dists = new ArrayList<>();
+    Node node = current.root;
+
+    while (true) {
+      int dist = metric.applyAsInt(s, node.word);
+      if (dist == 0) {
+        if (!node.deleted) return false;
+
+        state = new State(copyPath(path, dists, node.withDeleted(false)), current.size + 1, current.tombstones - 1);
+        return true;
+      }
+
+      path.add(node);
+      dists.add(dist);
+
+      Node child = node.next.get(dist);
+      if (child == null) {
+        state = new State(copyPath(path, dists, new Node(s)), current.size + 1, current.tombstones);
+        return true;
       }
+
+      node = child;
     }
+  }
 
-    size++;
-    return true;
+  /*
+   * Attaches the given node to the last node of the path on the edge of the last distance (or makes it the root
+   * if the path is empty) copying all the nodes of the path. Distances are those from the path nodes to their
+   * children on the path, ending with the distance to the given node.
+   */
+  private static Node copyPath(List<Node> path, List<Integer> dists, Node replacement) {
+    Node result = replacement;
+    for (int i = path.size() - 1; i >= 0; i--) {
+      result = path.get(i).withChild(dists.get(i), result);
+    }
+
+    return result;
   }
 
-  /** @deprecated */
-  @Deprecated
+  /**
+   * Removes element from this data structure.
+   *
+   * The element is replaced by a tombstone, the tree is compacted when tombstones outnumber the elements.
+   *
+   * @param o - element to remove
+   * @return {@code true} if removal was successful, {@code false} otherwise
+   * @throws IllegalArgumentException if object is not a {@link String}
+   */
   @Override
-  public boolean remove(Object o) {
-    throw new UnsupportedOperationException("Remove is not supported.");
+  public synchronized boolean remove(@NotNull Object o) {
+    boolean removed = delete(o);
+    compactIfNeeded();
+    return removed;
   }
 
-  /** @deprecated */
-  @Deprecated
+  /**
+   * Removes all the elements contained in the given collection from this data structure.
+   *
+   * @param collection - elements to remove (must not be {@code null})
+   * @return {@code true} if this data structure was modified, {@code false} otherwise
+   * @throws IllegalArgumentException if any element is not a {@link String}
+   */
   @Override
-  public boolean retainAll(@Nullable Collection<?> collection) {
-    throw new UnsupportedOperationException("Retain is not supported.");
+  public synchronized boolean removeAll(@NotNull Collection<?> collection) {
+    boolean modified = false;
+    for (Object o : collection) {
+      modified |= delete(o);
+    }
+
+    compactIfNeeded();
+    return modified;
   }
 
-  /** @deprecated */
-  @Deprecated
+  /**
+   * Retains only the elements contained in the given collection.
+   *
+   * @param collection - elements to retain (must not be {@code null})
+   * @return {@code true} if this data structure was modified, {@code false} otherwise
+   */
   @Override
-  public boolean removeAll(@Nullable Collection<?> collection) {
-    throw new UnsupportedOperationException("Remove is not supported.");
+  public synchronized boolean retainAll(@NotNull Collection<?> collection) {
+    List<String> doomed = new ArrayList<>();
+    for (String word : this) {
+      if (!collection.contains(word)) {
+        doomed.add(word);
+      }
+    }
+
+    return removeAll(doomed);
+  }
+
+  private boolean delete(Object o) {
+    if (!(o instanceof String)) {
+      throw new IllegalArgumentException("Argument is not a String.");
+    }
+
+    State current = state;
+    List<Node> path = new ArrayList<>();
+    List<Integer> dists = new ArrayList<>();
+    Node node = current.root;
+
+    while (node != null) {
+      int dist = metric.applyAsInt((String) o, node.word);
+      if (dist == 0) {
+        if (node.deleted) return false;
+
+        state = new State(copyPath(path, dists, node.withDeleted(true)), current.size - 1, current.tombstones + 1);
+        return true;
+      }
+
+      path.add(node);
+      dists.add(dist);
+      node = node.next.get(dist);
+    }
+
+    return false;
+  }
+
+  private void compactIfNeeded() {
+    if (state.tombstones > state.size) {
+      compact();
+    }
+  }
+
+  /**
+   * Rebuilds this tree from its elements dropping all the tombstones.
+   *
+   * Tree is constructed the same way as by {@link #build(Collection, Metric, int)}. Searches running concurrently
+   * keep using the previous version of the tree.
+   */
+  public synchronized void compact() {
+    SortedSet<String> words = new TreeSet<>();
+    forEach(words::add);
+    state = words.isEmpty() ? State.EMPTY : buildState(words, ForkJoinPool.commonPool());
   }
 
   /**
    * Deletes all the information from this data structure.
    */
   @Override
-  public void clear() {
-    root = null;
-    size = 0;
+  public synchronized void clear() {
+    state = State.EMPTY;
   }
 }
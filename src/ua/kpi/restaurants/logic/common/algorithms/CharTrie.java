@@ -0,0 +1,155 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Compact immutable <a href="https://en.wikipedia.org/wiki/Trie">trie</a> of words.
+ *
+ * It answers whether a word is in the trie directly from a part of a larger text (e.g. a word of a query)
+ * without copying it, and rejects most of the other words after a few characters without hashing them
+ * (words longer than the longest word of the trie are rejected at once).
+ *
+ * The trie is stored in parallel arrays the same way as in {@link LevensteinAutomatonSet}: nodes are numbered
+ * in breadth-first order, so children of every node occupy a contiguous range of ids sorted by their labels:
+ * <ul>
+ *   <li>{@code labels[i]} - character on the edge between the node {@code i} and its parent</li>
+ *   <li>{@code children[i]} - id of the first child of the node {@code i} ({@code children[i + 1]} bounds the range)</li>
+ *   <li>{@code terminals[i]} - whether some word ends at the node {@code i}</li>
+ * </ul>
+ */
+public final class CharTrie {
+  private final char[] labels;
+  private final int[] children;
+  private final boolean[] terminals;
+  private final int size;
+  private final int maxLength;
+
+  /**
+   * Constructs the trie from the specified words.
+   *
+   * Duplicates are ignored.
+   *
+   * @param words - words to construct the trie from (must not be {@code null})
+   */
+  public CharTrie(@NotNull Collection<String> words) {
+    Node root = new Node('\0');
+    int nodes = 1, count = 0, length = 0;
+    for (String word : words) {
+      Node node = root;
+      for (int i = 0; i < word.length(); i++) {
+        Node child = node.next.get(word.charAt(i));
+        if (child == null) {
+          child = new Node(word.charAt(i));
+          node.next.put(word.charAt(i), child);
+          nodes++;
+        }
+
+        node = child;
+      }
+
+      if (!node.terminal) {
+        node.terminal = true;
+        count++;
+        length = Math.max(length, word.length());
+      }
+    }
+
+    this.size = count;
+    this.maxLength = length;
+    this.labels = new char[nodes];
+    this.children = new int[nodes + 1];
+    this.terminals = new boolean[nodes];
+
+    Queue<Node> queue = new ArrayDeque<>();
+    queue.add(root);
+
+    int id = 0, next = 1;
+    while (!queue.isEmpty()) {
+      Node node = queue.poll();
+      labels[id] = node.label;
+      terminals[id] = node.terminal;
+      children[id] = next;
+      next += node.next.size();
+      queue.addAll(node.next.values());
+      id++;
+    }
+
+    children[nodes] = next;
+  }
+
+  /** Pointer-based node used during construction only */
+  private static final class Node {
+    private final char label;
+    private final SortedMap<Character, Node> next = new TreeMap<>();
+    private boolean terminal = false;
+
+    private Node(char label) {
+      this.label = label;
+    }
+  }
+
+  private int childOf(int node, char label) {
+    int low = children[node], high = children[node + 1] - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (labels[mid] < label) {
+        low = mid + 1;
+      } else if (labels[mid] > label) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Checks whether the word is in this trie.
+   *
+   * @param word - word to look for (must not be {@code null})
+   * @return {@code true} if contains, {@code false} otherwise
+   */
+  public boolean contains(@NotNull CharSequence word) {
+    return contains(word, 0, word.length());
+  }
+
+  /**
+   * Checks whether the word that occupies {@code text[start, end)} is in this trie.
+   *
+   * @param text - text containing the word (must not be {@code null})
+   * @param start - index of the first character of the word
+   * @param end - index following the last character of the word
+   * @return {@code true} if contains, {@code false} otherwise
+   * @throws IndexOutOfBoundsException if start or end is out of range
+   */
+  public boolean contains(@NotNull CharSequence text, int start, int end) {
+    if (start < 0 || end > text.length() || start > end) {
+      throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end + ", length: " + text.length());
+    }
+
+    if (end - start > maxLength) return false;
+
+    int node = 0;
+    for (int i = start; i < end && node >= 0; i++) {
+      node = childOf(node, text.charAt(i));
+    }
+
+    return node >= 0 && terminals[node];
+  }
+
+  /**
+   * Retrieves number of words in this trie.
+   *
+   * @return size of this trie
+   */
+  public int size() {
+    return size;
+  }
+}
@@ -0,0 +1,314 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ua.kpi.restaurants.logic.common.utils.metrics.BoundedMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.Metric;
+import ua.kpi.restaurants.logic.common.utils.metrics.SliceMetric;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Frozen implementation of the <a href="https://en.wikipedia.org/wiki/BK-tree">BK-tree</a> data structure.
+ *
+ * It has the same semantics as {@link BKTreeSet} but stores the whole tree in parallel arrays instead of
+ * a {@link TreeMap} per node. Nodes are numbered in breadth-first order, so children of every node occupy
+ * a contiguous range of ids sorted by their edge distance:
+ * <ul>
+ *   <li>{@code terms.get(i)} - word of the node {@code i}</li>
+ *   <li>{@code children[i]} - id of the first child of the node {@code i} ({@code children[i + 1]} bounds the range)</li>
+ *   <li>{@code distances[i]} - distance of the edge between the node {@code i} and its parent</li>
+ * </ul>
+ *
+ * Range query over children of some node thus becomes a contiguous array scan.
+ *
+ * Words are packed into a {@link TermStore}, so the tree holds no {@link String} per node. If the metric is
+ * a {@link SliceMetric}, distances are computed on the packed characters directly.
+ *
+ * Distances are computed as primitive values (see {@link IntMetric}). If the metric is a {@link BoundedMetric},
+ * searches compute distances only up to the radius that still matters for the node under consideration.
+ *
+ * The tree is constructed once from a {@link Collection} of words and can not be modified afterwards.
+ *
+ * @see BKTreeSet
+ */
+public final class FlatBKTreeSet extends AbstractSet<String> implements SimilaritySet<String>, Serializable {
+  private static final long serialVersionUID = 5409625416733913265L;
+
+  private final TermStore terms;
+  private final int[] children;
+  private final int[] distances;
+  private final IntMetric<String> metric;
+  private int threshold;
+
+  /**
+   * Constructs the tree from the specified words and metric.
+   *
+   * Delegates the task to {@link #FlatBKTreeSet(Collection, Metric, int)}.
+   *
+   * @param words - words to construct tree from (must not be {@code null})
+   * @param metric - metric to construct tree on (must not be {@code null})
+   */
+  public FlatBKTreeSet(@NotNull Collection<String> words, @NotNull Metric<String, Integer> metric) {
+    this(words, metric, BKTreeSet.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs the tree from the specified words, metric and search threshold.
+   *
+   * Words are inserted in the iteration order of the {@code words} collection. Duplicates are ignored.
+   *
+   * @param words - words to construct tree from (must not be {@code null})
+   * @param metric - metric to construct tree on (must not be {@code null})
+   * @param threshold - search threshold
+   * @throws IllegalArgumentException if threshold id < 0
+   */
+  public FlatBKTreeSet(@NotNull Collection<String> words, @NotNull Metric<String, Integer> metric, int threshold) {
+    super();
+    this.threshold = validateThreshold(threshold);
+    this.metric = IntMetric.of(metric);
+
+    Node root = null;
+    int size = 0;
+
+    for (String word : words) {
+      if (root == null) {
+        root = new Node(word, 0);
+        size++;
+      } else if (root.insert(word, this.metric)) {
+        size++;
+      }
+    }
+
+    List<String> order = new ArrayList<>(size);
+    this.children = new int[size + 1];
+    this.distances = new int[size];
+
+    Queue<Node> queue = new ArrayDeque<>();
+    if (root != null) {
+      queue.add(root);
+    }
+
+    int id = 0, next = 1;
+    while (!queue.isEmpty()) {
+      Node node = queue.poll();
+      order.add(node.word);
+      this.distances[id] = node.dist;
+      this.children[id] = next;
+      next += node.next.size();
+      queue.addAll(node.next.values());
+      id++;
+    }
+
+    this.children[size] = next;
+    this.terms = new TermStore(order);
+  }
+
+  private static int validateThreshold(int val) {
+    if (val < 0) {
+      throw new IllegalArgumentException("Invalid threshold value.");
+    }
+
+    return val;
+  }
+
+  /**
+   * Getter for threshold
+   *
+   * @return current threshold
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Setter for threshold
+   *
+   * @param threshold - new threshold value
+   * @throws IllegalArgumentException if threshold id < 0
+   */
+  public void setThreshold(int threshold) {
+    this.threshold = validateThreshold(threshold);
+  }
+
+  /** Pointer-based node used during construction only */
+  private static final class Node {
+    private final String word;
+    private final int dist;
+    private final SortedMap<Integer, Node> next = new TreeMap<>();
+
+    private Node(String word, int dist) {
+      this.word = word;
+      this.dist = dist;
+    }
+
+    private boolean insert(String word, IntMetric<String> metric) {
+      Node node = this;
+      while (true) {
+        int dist = metric.applyAsInt(word, node.word);
+        if (dist == 0) {
+          return false;
+        }
+
+        Node child = node.next.get(dist);
+        if (child == null) {
+          node.next.put(dist, new Node(word, dist));
+          return true;
+        }
+
+        node = child;
+      }
+    }
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word
+   *
+   * Delegates the task to {@link #getSimilarTo(String, SimilarityBuffer)}.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @return {@link Set} word-similarity pairs
+   */
+  @NotNull
+  @Override
+  public Set<Entry<String>> getSimilarTo(@NotNull String word) {
+    SimilarityBuffer<String> buffer = new SimilarityBuffer<>();
+    getSimilarTo(word, buffer);
+    return buffer.toSet();
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word into the given buffer
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @param buffer - buffer to write word-similarity pairs to (must not be {@code null})
+   */
+  @Override
+  public void getSimilarTo(@NotNull String word, @NotNull SimilarityBuffer<String> buffer) {
+    buffer.clear();
+    if (word.isEmpty() || terms.size() == 0) return;
+
+    char[] query = word.toCharArray();
+    int threshold = this.threshold;
+    int[] stack = new int[16];
+    int top = 0;
+
+    stack[top++] = 0;
+    while (top > 0) {
+      int node = stack[--top];
+
+      int first = children[node], last = children[node + 1];
+      int bound = first == last ? threshold : distances[last - 1] + threshold;
+      int dist = terms.distance(metric, node, query, bound);
+      if (terms.charAt(node, 0) == query[0] && dist <= threshold) {
+        buffer.add(terms.get(node), dist);
+      }
+
+      int low = Math.max(1, dist - threshold), high = dist + threshold;
+      for (int child = first; child < last && distances[child] <= high; child++) {
+        if (distances[child] >= low) {
+          if (top == stack.length) {
+            stack = Arrays.copyOf(stack, top * 2);
+          }
+
+          stack[top++] = child;
+        }
+      }
+    }
+  }
+
+  /**
+   * Retrieves number of words in this data structure.
+   *
+   * @return size of this data structure
+   */
+  @Override
+  public int size() {
+    return terms.size();
+  }
+
+  /**
+   * Checks whether this data structure is empty.
+   *
+   * @return {@code true} if empty, {@code false} otherwise
+   */
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Checks whether this set contains specified Object.
+   *
+   * @param o - object to check
+   * @return {@code true} if contains, {@code false} otherwise
+   * @throws IllegalArgumentException if object is not a {@link String}
+   */
+  @Override
+  public boolean contains(@NotNull Object o) {
+    if (!(o instanceof String)) {
+      throw new IllegalArgumentException("Argument is not a String.");
+    }
+
+    return terms.indexOf((String) o) >= 0;
+  }
+
+  /**
+   * Retrieves {@link Iterator} for this data structure.
+   *
+   * Words are iterated in the breadth-first order of the tree. Every word is copied from the {@link TermStore}.
+   *
+   * @return retrieved {@link Iterator}
+   */
+  @Override
+  public Iterator<String> iterator() {
+    return new AbstractList<String>() {
+      @Override
+      public String get(int index) {
+        return terms.get(index);
+      }
+
+      @Override
+      public int size() {
+        return terms.size();
+      }
+    }.iterator();
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean add(@Nullable String s) {
+    throw new UnsupportedOperationException("Add is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean retainAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Retain is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean removeAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Clear is not supported.");
+  }
+}
@@ -0,0 +1,329 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Implementation of fuzzy string search that intersects a Levenstein automaton of the query word
+ * with a <a href="https://en.wikipedia.org/wiki/Trie">trie</a> of the vocabulary.
+ *
+ * State of the automaton after reading some prefix is a row of the Levenstein dynamic programming table
+ * (distances between that prefix and every prefix of the query word). The trie is traversed depth-first,
+ * every edge advances the state by one row, and a subtree is abandoned as soon as every cell of the row exceeds
+ * the threshold (no word with this prefix can be close enough). Every prefix shared by several words is thus
+ * processed once and no pairwise distance is ever computed.
+ *
+ * The trie is stored in parallel arrays, nodes are numbered in breadth-first order, so children of every node
+ * occupy a contiguous range of ids sorted by their labels:
+ * <ul>
+ *   <li>{@code labels[i]} - character on the edge between the node {@code i} and its parent</li>
+ *   <li>{@code children[i]} - id of the first child of the node {@code i} ({@code children[i + 1]} bounds the range)</li>
+ *   <li>{@code depths[i]} - length of the prefix of the node {@code i}</li>
+ *   <li>{@code terminals[i]} - id of the word ending at the node {@code i} or {@code -1}</li>
+ * </ul>
+ *
+ * It always uses Levenstein distance. As {@link BKTreeSet} does, it reports only words that start with the same
+ * character as the query word, so only one subtree of the root is ever visited.
+ *
+ * The index is constructed once from a {@link Collection} of words and can not be modified afterwards.
+ *
+ * @see ua.kpi.restaurants.logic.common.utils.metrics.Levenstein
+ */
+public final class LevensteinAutomatonSet extends AbstractSet<String> implements SimilaritySet<String>, Serializable {
+  private static final long serialVersionUID = 1712489093318790846L;
+
+  private final String[] words;
+  private final char[] labels;
+  private final int[] children;
+  private final int[] depths;
+  private final int[] terminals;
+  private final int maxDepth;
+  private int threshold;
+
+  /**
+   * Constructs the index from the specified words.
+   *
+   * Delegates the task to {@link #LevensteinAutomatonSet(Collection, int)}.
+   *
+   * @param words - words to construct index from (must not be {@code null})
+   */
+  public LevensteinAutomatonSet(@NotNull Collection<String> words) {
+    this(words, BKTreeSet.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs the index from the specified words and search threshold.
+   *
+   * Duplicates are ignored.
+   *
+   * @param words - words to construct index from (must not be {@code null})
+   * @param threshold - search threshold
+   * @throws IllegalArgumentException if threshold id < 0
+   */
+  public LevensteinAutomatonSet(@NotNull Collection<String> words, int threshold) {
+    super();
+    this.threshold = validateThreshold(threshold);
+    this.words = new TreeSet<>(words).toArray(new String[0]);
+
+    Node root = new Node('\0', 0);
+    int size = 1, depth = 0;
+    for (int id = 0; id < this.words.length; id++) {
+      Node node = root;
+      for (char c : this.words[id].toCharArray()) {
+        Node child = node.next.get(c);
+        if (child == null) {
+          child = new Node(c, node.depth + 1);
+          node.next.put(c, child);
+          size++;
+        }
+
+        node = child;
+      }
+
+      node.terminal = id;
+      depth = Math.max(depth, node.depth);
+    }
+
+    this.maxDepth = depth;
+    this.labels = new char[size];
+    this.children = new int[size + 1];
+    this.depths = new int[size];
+    this.terminals = new int[size];
+
+    Queue<Node> queue = new ArrayDeque<>();
+    queue.add(root);
+
+    int id = 0, next = 1;
+    while (!queue.isEmpty()) {
+      Node node = queue.poll();
+      labels[id] = node.label;
+      depths[id] = node.depth;
+      terminals[id] = node.terminal;
+      children[id] = next;
+      next += node.next.size();
+      queue.addAll(node.next.values());
+      id++;
+    }
+
+    children[size] = next;
+  }
+
+  private static int validateThreshold(int val) {
+    if (val < 0) {
+      throw new IllegalArgumentException("Invalid threshold value.");
+    }
+
+    return val;
+  }
+
+  /**
+   * Getter for threshold
+   *
+   * @return current threshold
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Setter for threshold
+   *
+   * @param threshold - new threshold value
+   * @throws IllegalArgumentException if threshold id < 0
+   */
+  public void setThreshold(int threshold) {
+    this.threshold = validateThreshold(threshold);
+  }
+
+  /** Pointer-based node used during construction only */
+  private static final class Node {
+    private final char label;
+    private final int depth;
+    private final SortedMap<Character, Node> next = new TreeMap<>();
+    private int terminal = -1;
+
+    private Node(char label, int depth) {
+      this.label = label;
+      this.depth = depth;
+    }
+  }
+
+  private int childOf(int node, char label) {
+    int low = children[node], high = children[node + 1] - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (labels[mid] < label) {
+        low = mid + 1;
+      } else if (labels[mid] > label) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word
+   *
+   * Delegates the task to {@link #getSimilarTo(String, SimilarityBuffer)}.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @return {@link Set} word-similarity pairs
+   */
+  @NotNull
+  @Override
+  public Set<Entry<String>> getSimilarTo(@NotNull String word) {
+    SimilarityBuffer<String> buffer = new SimilarityBuffer<>();
+    getSimilarTo(word, buffer);
+    return buffer.toSet();
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word into the given buffer
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @param buffer - buffer to write word-similarity pairs to (must not be {@code null})
+   */
+  @Override
+  public void getSimilarTo(@NotNull String word, @NotNull SimilarityBuffer<String> buffer) {
+    buffer.clear();
+    if (word.isEmpty()) return;
+
+    int start = childOf(0, word.charAt(0));
+    if (start < 0) return;
+
+    int k = threshold, m = word.length();
+    int[][] rows = new int[Math.min(maxDepth, m + k) + 1][m + 1];
+    for (int j = 0; j <= m; j++) {
+      rows[0][j] = j;
+    }
+
+    int[] stack = new int[16];
+    int top = 0;
+
+    stack[top++] = start;
+    while (top > 0) {
+      int node = stack[--top];
+      int depth = depths[node];
+      int[] previous = rows[depth - 1], row = rows[depth];
+      char c = labels[node];
+
+      int min = row[0] = depth;
+      for (int j = 1; j <= m; j++) {
+        int cost = word.charAt(j - 1) == c ? 0 : 1;
+        row[j] = Math.min(Math.min(previous[j] + 1, row[j - 1] + 1), previous[j - 1] + cost);
+        min = Math.min(min, row[j]);
+      }
+
+      if (min > k) continue;
+
+      if (terminals[node] >= 0 && row[m] <= k) {
+        buffer.add(words[terminals[node]], row[m]);
+      }
+
+      if (depth + 1 < rows.length) {
+        for (int child = children[node]; child < children[node + 1]; child++) {
+          if (top == stack.length) {
+            stack = Arrays.copyOf(stack, top * 2);
+          }
+
+          stack[top++] = child;
+        }
+      }
+    }
+  }
+
+  /**
+   * Retrieves number of words in this data structure.
+   *
+   * @return size of this data structure
+   */
+  @Override
+  public int size() {
+    return words.length;
+  }
+
+  /**
+   * Checks whether this data structure is empty.
+   *
+   * @return {@code true} if empty, {@code false} otherwise
+   */
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Checks whether this set contains specified Object.
+   *
+   * @param o - object to check
+   * @return {@code true} if contains, {@code false} otherwise
+   * @throws IllegalArgumentException if object is not a {@link String}
+   */
+  @Override
+  public boolean contains(@NotNull Object o) {
+    if (!(o instanceof String)) {
+      throw new IllegalArgumentException("Argument is not a String.");
+    }
+
+    String s = (String) o;
+    int node = 0;
+    for (int i = 0; i < s.length() && node >= 0; i++) {
+      node = childOf(node, s.charAt(i));
+    }
+
+    return node >= 0 && terminals[node] >= 0;
+  }
+
+  /**
+   * Retrieves {@link Iterator} for this data structure.
+   *
+   * Words are iterated in the lexicographical order.
+   *
+   * @return retrieved {@link Iterator}
+   */
+  @Override
+  public Iterator<String> iterator() {
+    return Collections.unmodifiableList(Arrays.asList(words)).iterator();
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean add(@Nullable String s) {
+    throw new UnsupportedOperationException("Add is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean retainAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Retain is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean removeAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Clear is not supported.");
+  }
+}
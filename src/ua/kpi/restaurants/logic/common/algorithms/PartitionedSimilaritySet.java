@@ -0,0 +1,341 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * {@link SimilaritySet} that splits words into partitions by their first character and length.
+ *
+ * All similarity sets in this application report only words that start with the same character as the query word,
+ * so words starting with other characters never have to be visited. Edit distance between two words is not less
+ * than the difference of their lengths, so words which lengths differ from the length of the query word
+ * by more than {@code maxDistance} do not have to be visited either.
+ *
+ * Every partition is a separate similarity set (constructed by the given factory) with words of the same first
+ * character and the same length. A query is delegated to at most {@code 2 * maxDistance + 1} partitions which are
+ * found by a single binary search over sorted partition keys, so lookups do not allocate.
+ * Partitions of {@link #getMostSimilar(String, int)} are visited from the nearest length to the farthest one and
+ * the search stops as soon as no farther partition can contain a better word.
+ *
+ * Metric of the partitions must be an edit distance and their search thresholds must not be greater than
+ * {@code maxDistance}, otherwise some similar words may be missed.
+ *
+ * The set is constructed once from a {@link Collection} of words and can not be modified afterwards.
+ *
+ * @see BKTreeSet
+ */
+public final class PartitionedSimilaritySet extends AbstractSet<String> implements SimilaritySet<String>, Serializable {
+  private static final long serialVersionUID = 7066183152437919585L;
+  private static final long EMPTY = -1;
+
+  private final long[] keys;
+  private final SimilaritySet<String>[] partitions;
+  private final int size;
+  private final int maxDistance;
+
+  /**
+   * Constructs the set from the specified words.
+   *
+   * Delegates the task to {@link #PartitionedSimilaritySet(Collection, Function, int)}
+   * with {@link BKTreeSet#DEFAULT_THRESHOLD} as the maximal distance.
+   *
+   * @param words - words to construct set from (must not be {@code null})
+   * @param factory - function constructing similarity set for a partition (must not be {@code null})
+   */
+  public PartitionedSimilaritySet(
+      @NotNull Collection<String> words,
+      @NotNull Function<Collection<String>, SimilaritySet<String>> factory
+  ) {
+    this(words, factory, BKTreeSet.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs the set from the specified words and maximal search distance.
+   *
+   * Words are grouped by their first character and length and every group is passed to the factory.
+   * Partitions are constructed in parallel on the common {@link java.util.concurrent.ForkJoinPool},
+   * so the factory must be thread-safe. The result does not depend on the number of threads.
+   * Duplicates are ignored.
+   *
+   * @param words - words to construct set from (must not be {@code null})
+   * @param factory - function constructing similarity set for a partition (must not be {@code null})
+   * @param maxDistance - maximal distance to search words within
+   * @throws IllegalArgumentException if maxDistance < 0
+   */
+  @SuppressWarnings("unchecked")
+  public PartitionedSimilaritySet(
+      @NotNull Collection<String> words,
+      @NotNull Function<Collection<String>, SimilaritySet<String>> factory,
+      int maxDistance
+  ) {
+    super();
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("Invalid maximal distance value.");
+    }
+
+    SortedMap<Long, Set<String>> groups = new TreeMap<>();
+    for (String word : words) {
+      groups.computeIfAbsent(keyOf(word), key -> new LinkedHashSet<>()).add(word);
+    }
+
+    this.maxDistance = maxDistance;
+    this.keys = new long[groups.size()];
+    this.partitions = (SimilaritySet<String>[]) new SimilaritySet<?>[groups.size()];
+
+    List<Set<String>> values = new ArrayList<>(groups.values());
+    IntStream.range(0, values.size()).parallel().forEach(i -> partitions[i] = factory.apply(values.get(i)));
+
+    int i = 0, total = 0;
+    for (Long key : groups.keySet()) {
+      keys[i] = key;
+      total += partitions[i].size();
+      i++;
+    }
+
+    this.size = total;
+  }
+
+  private static long keyOf(String word) {
+    return word.isEmpty() ? EMPTY : keyOf(word.charAt(0), word.length());
+  }
+
+  private static long keyOf(char first, int length) {
+    return (long) first << 32 | length;
+  }
+
+  @Nullable
+  private SimilaritySet<String> partitionOf(long key) {
+    int i = Arrays.binarySearch(keys, key);
+    return i < 0 ? null : partitions[i];
+  }
+
+  private int lowerBound(long key) {
+    int i = Arrays.binarySearch(keys, key);
+    return i < 0 ? -i - 1 : i;
+  }
+
+  /**
+   * Retrieves number of partitions.
+   *
+   * @return number of partitions
+   */
+  public int getPartitionsCount() {
+    return partitions.length;
+  }
+
+  /**
+   * Getter for the maximal search distance
+   *
+   * @return maximal search distance
+   */
+  public int getMaxDistance() {
+    return maxDistance;
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word
+   *
+   * Only partitions of the same first character and close lengths are searched.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @return {@link Set} word-similarity pairs
+   */
+  @NotNull
+  @Override
+  public Set<Entry<String>> getSimilarTo(@NotNull String word) {
+    if (word.isEmpty()) return Collections.emptySet();
+
+    int length = word.length();
+    long last = keyOf(word.charAt(0), length + maxDistance);
+    Set<Entry<String>> result = Collections.emptySet();
+    boolean merged = false;
+
+    for (int i = lowerBound(keyOf(word.charAt(0), Math.max(1, length - maxDistance))); i < keys.length; i++) {
+      if (keys[i] > last) break;
+
+      Set<Entry<String>> found = partitions[i].getSimilarTo(word);
+      if (found.isEmpty()) continue;
+
+      if (result.isEmpty()) {
+        result = found;
+      } else {
+        if (!merged) {
+          result = new HashSet<>(result);
+          merged = true;
+        }
+
+        result.addAll(found);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word into the given buffer
+   *
+   * Only partitions of the same first character and close lengths are searched.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @param buffer - buffer to write word-similarity pairs to (must not be {@code null})
+   */
+  @Override
+  public void getSimilarTo(@NotNull String word, @NotNull SimilarityBuffer<String> buffer) {
+    buffer.clear();
+    if (word.isEmpty()) return;
+
+    int length = word.length();
+    long last = keyOf(word.charAt(0), length + maxDistance);
+    SimilarityBuffer<String> found = null;
+
+    for (int i = lowerBound(keyOf(word.charAt(0), Math.max(1, length - maxDistance))); i < keys.length; i++) {
+      if (keys[i] > last) break;
+
+      if (buffer.isEmpty()) {
+        partitions[i].getSimilarTo(word, buffer);
+      } else {
+        if (found == null) {
+          found = new SimilarityBuffer<>();
+        }
+
+        partitions[i].getSimilarTo(word, found);
+        buffer.addAll(found);
+      }
+    }
+  }
+
+  /**
+   * Retrieves at most {@code k} words most similar to the given word.
+   *
+   * Partitions of the same first character are visited in the order of length difference with the given word.
+   * Search stops when {@code k} words are found and length difference of the remaining partitions exceeds
+   * the largest similarity found. Words at equal distance are ordered lexicographically.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @param k - maximal number of words to retrieve
+   * @return {@link List} of word-similarity pairs sorted by similarity
+   * @throws IllegalArgumentException if k < 0
+   */
+  @NotNull
+  @Override
+  public List<Entry<String>> getMostSimilar(@NotNull String word, int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("Invalid number of elements.");
+    }
+
+    if (k == 0 || word.isEmpty()) return Collections.emptyList();
+
+    Comparator<Entry<String>> order = Entry.<String>comparingBySimilarity().thenComparing(Entry.comparingByElement());
+    List<Entry<String>> result = new ArrayList<>();
+    int length = word.length();
+
+    for (int delta = 0; delta <= maxDistance; delta++) {
+      if (result.size() == k && result.get(k - 1).getSimilarity() < delta) break;
+
+      for (int target : delta == 0 ? new int[]{length} : new int[]{length - delta, length + delta}) {
+        SimilaritySet<String> partition = target > 0 ? partitionOf(keyOf(word.charAt(0), target)) : null;
+        if (partition != null) {
+          result.addAll(partition.getMostSimilar(word, k));
+        }
+      }
+
+      if (result.size() > 1) {
+        result.sort(order);
+        if (result.size() > k) {
+          result.subList(k, result.size()).clear();
+        }
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Retrieves number of words in this data structure.
+   *
+   * @return size of this data structure
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether this data structure is empty.
+   *
+   * @return {@code true} if empty, {@code false} otherwise
+   */
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Checks whether this set contains specified Object.
+   *
+   * @param o - object to check
+   * @return {@code true} if contains, {@code false} otherwise
+   * @throws IllegalArgumentException if object is not a {@link String}
+   */
+  @Override
+  public boolean contains(@NotNull Object o) {
+    if (!(o instanceof String)) {
+      throw new IllegalArgumentException("Argument is not a String.");
+    }
+
+    SimilaritySet<String> partition = partitionOf(keyOf((String) o));
+    return partition != null && partition.contains(o);
+  }
+
+  /**
+   * Retrieves {@link Iterator} for this data structure.
+   *
+   * Partitions are iterated in the order of their first characters and lengths.
+   *
+   * @return retrieved {@link Iterator}
+   */
+  @Override
+  public Iterator<String> iterator() {
+    return Arrays.stream(partitions).flatMap(Set::stream).iterator();
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean add(@Nullable String s) {
+    throw new UnsupportedOperationException("Add is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean retainAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Retain is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean removeAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Clear is not supported.");
+  }
+}
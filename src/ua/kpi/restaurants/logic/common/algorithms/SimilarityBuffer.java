@@ -0,0 +1,153 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reusable container for the results of {@link SimilaritySet#getSimilarTo(Object, SimilarityBuffer)}.
+ *
+ * It stores element-similarity pairs in two parallel arrays that grow on demand and are kept between queries,
+ * so a caller that owns the buffer can run any number of queries without allocating result entries.
+ *
+ * Buffer is not thread-safe: every thread must use its own instance. Similarity sets never keep references to
+ * a buffer, so any number of threads can query the same set into their own buffers concurrently.
+ *
+ * @param <E> - type of elements
+ */
+public final class SimilarityBuffer<E> {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private Object[] elements;
+  private double[] similarities;
+  private int size = 0;
+
+  /**
+   * Constructs an empty buffer with default capacity.
+   */
+  public SimilarityBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs an empty buffer with the given initial capacity.
+   *
+   * @param capacity - initial capacity
+   * @throws IllegalArgumentException if capacity < 0
+   */
+  public SimilarityBuffer(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Invalid capacity value.");
+    }
+
+    this.elements = new Object[capacity];
+    this.similarities = new double[capacity];
+  }
+
+  /**
+   * Appends element-similarity pair to this buffer.
+   *
+   * @param element - element to append (must not be {@code null})
+   * @param similarity - similarity of the element
+   */
+  public void add(@NotNull E element, double similarity) {
+    if (size == elements.length) {
+      int capacity = Math.max(DEFAULT_CAPACITY, size * 2);
+      elements = Arrays.copyOf(elements, capacity);
+      similarities = Arrays.copyOf(similarities, capacity);
+    }
+
+    elements[size] = element;
+    similarities[size] = similarity;
+    size++;
+  }
+
+  /**
+   * Appends all pairs of the given buffer to this buffer.
+   *
+   * @param other - buffer to append pairs from (must not be {@code null})
+   */
+  public void addAll(@NotNull SimilarityBuffer<? extends E> other) {
+    for (int i = 0; i < other.size; i++) {
+      add(other.getElement(i), other.similarities[i]);
+    }
+  }
+
+  /**
+   * Retrieves element at the given position.
+   *
+   * @param index - position of the element
+   * @return retrieved element
+   * @throws IndexOutOfBoundsException if index is out of range
+   */
+  @NotNull
+  @SuppressWarnings("unchecked")
+  public E getElement(int index) {
+    return (E) elements[checkIndex(index)];
+  }
+
+  /**
+   * Retrieves similarity of the element at the given position.
+   *
+   * @param index - position of the element
+   * @return retrieved similarity
+   * @throws IndexOutOfBoundsException if index is out of range
+   */
+  public double getSimilarity(int index) {
+    return similarities[checkIndex(index)];
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+
+    return index;
+  }
+
+  /**
+   * Retrieves number of pairs in this buffer.
+   *
+   * @return size of this buffer
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether this buffer is empty.
+   *
+   * @return {@code true} if empty, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all pairs from this buffer. Capacity is retained.
+   */
+  public void clear() {
+    Arrays.fill(elements, 0, size, null);
+    size = 0;
+  }
+
+  /**
+   * Copies content of this buffer to a newly created {@link Set} of entries.
+   *
+   * @return {@link Set} of element-similarity pairs
+   */
+  @NotNull
+  public Set<SimilaritySet.Entry<E>> toSet() {
+    if (size == 0) return Collections.emptySet();
+
+    Set<SimilaritySet.Entry<E>> result = new HashSet<>(size * 4 / 3 + 1);
+    for (int i = 0; i < size; i++) {
+      result.add(new SimilarityEntry<>(getElement(i), similarities[i]));
+    }
+
+    return result;
+  }
+}
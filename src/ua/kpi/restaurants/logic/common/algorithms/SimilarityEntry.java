@@ -0,0 +1,57 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Immutable implementation of {@link SimilaritySet.Entry}.
+ *
+ * It is returned by {@link SimilaritySet} implementations instead of their internal nodes,
+ * so query results never share mutable state with the data structure.
+ * Two entries are considered equal iff their elements are equal.
+ *
+ * @param <E> - type of element
+ */
+final class SimilarityEntry<E> implements SimilaritySet.Entry<E>, Serializable {
+  private static final long serialVersionUID = 3204875925386722315L;
+
+  private final E element;
+  private final double similarity;
+
+  SimilarityEntry(@NotNull E element, double similarity) {
+    this.element = element;
+    this.similarity = similarity;
+  }
+
+  @NotNull
+  @Override
+  public E getElement() {
+    return element;
+  }
+
+  @Override
+  public double getSimilarity() {
+    return similarity;
+  }
+
+  @Override
+  public int hashCode() {
+    return element.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == null) return false;
+    if (o == this) return true;
+    if (o.getClass() != this.getClass()) return false;
+    SimilarityEntry<?> that = (SimilarityEntry<?>) o;
+    return Objects.equals(that.element, this.element);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("SimilarityEntry: %s (%.1f)", element, similarity);
+  }
+}
@@ -3,8 +3,10 @@ package ua.kpi.restaurants.logic.common.algorithms;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -26,6 +28,51 @@ public interface SimilaritySet<E> extends Set<E> {
    */
   @NotNull Set<Entry<E>> getSimilarTo(@NotNull E elem);
 
+  /**
+   * Retrieves elements, most similar to the current element, into the given buffer.
+   *
+   * Buffer is cleared first and then filled with the same pairs {@link #getSimilarTo(Object)} would retrieve,
+   * in no particular order. The set itself is not modified, so concurrent queries are safe as long as
+   * every thread uses its own buffer.
+   *
+   * Default implementation copies the result of {@link #getSimilarTo(Object)}, implementations are encouraged
+   * to override it with a search that writes directly into the buffer.
+   *
+   * @param elem - element under consideration (must not be {@code null})
+   * @param buffer - buffer to write retrieved elements and their similarities to (must not be {@code null})
+   */
+  default void getSimilarTo(@NotNull E elem, @NotNull SimilarityBuffer<E> buffer) {
+    buffer.clear();
+    for (Entry<E> entry : getSimilarTo(elem)) {
+      buffer.add(entry.getElement(), entry.getSimilarity());
+    }
+  }
+
+  /**
+   * Retrieves at most {@code k} elements most similar to the current element.
+   *
+   * Only elements that would be retrieved by {@link #getSimilarTo(Object)} are considered.
+   * Returned {@link List} is sorted by similarity, the order of elements with equal similarities is not specified.
+   *
+   * Default implementation sorts the result of {@link #getSimilarTo(Object)}, implementations are encouraged
+   * to override it with a search that stops as soon as the best elements are found.
+   *
+   * @param elem - element under consideration (must not be {@code null})
+   * @param k - maximal number of elements to retrieve
+   * @return {@link List} of retrieved elements as well as their similarities
+   * @throws IllegalArgumentException if k < 0
+   */
+  default @NotNull List<Entry<E>> getMostSimilar(@NotNull E elem, int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("Invalid number of elements.");
+    }
+
+    return getSimilarTo(elem).stream()
+        .sorted(Entry.comparingBySimilarity())
+        .limit(k)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Abstracts over the element and its similarity to some other element.
    *
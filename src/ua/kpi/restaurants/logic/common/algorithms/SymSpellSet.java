@@ -0,0 +1,252 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ua.kpi.restaurants.logic.common.utils.metrics.BatchMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.Metric;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Implementation of fuzzy string search based on the
+ * <a href="https://github.com/wolfgarbe/SymSpell">symmetric delete</a> algorithm.
+ *
+ * Every word is stored together with all the strings that can be obtained from it by deleting
+ * at most {@code maxDistance} characters. Two words within edit distance {@code maxDistance} always share
+ * at least one such deletion variant, so a search only has to generate deletion variants of the query word,
+ * look them up and verify found candidates with the metric (all at once, see {@link BatchMetric}).
+ *
+ * It trades memory (the number of variants grows quadratically with word length for {@code maxDistance = 2})
+ * for search time that does not depend on the size of the vocabulary.
+ *
+ * As {@link BKTreeSet} does, it reports only words that start with the same character as the query word.
+ *
+ * The index is constructed once from a {@link Collection} of words and can not be modified afterwards.
+ *
+ * @see BKTreeSet
+ */
+public final class SymSpellSet extends AbstractSet<String> implements SimilaritySet<String>, Serializable {
+  private static final long serialVersionUID = 6018329717461926427L;
+
+  private final String[] words;
+  private final Map<String, int[]> deletes;
+  private final int maxDistance;
+  private final IntMetric<String> metric;
+
+  /**
+   * Constructs the index from the specified words and metric.
+   *
+   * Delegates the task to {@link #SymSpellSet(Collection, Metric, int)}
+   * with {@link BKTreeSet#DEFAULT_THRESHOLD} as the maximal distance.
+   *
+   * @param words - words to construct index from (must not be {@code null})
+   * @param metric - metric to verify candidates with (must not be {@code null})
+   */
+  public SymSpellSet(@NotNull Collection<String> words, @NotNull Metric<String, Integer> metric) {
+    this(words, metric, BKTreeSet.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs the index from the specified words, metric and maximal search distance.
+   *
+   * Duplicates are ignored.
+   *
+   * @param words - words to construct index from (must not be {@code null})
+   * @param metric - metric to verify candidates with (must not be {@code null})
+   * @param maxDistance - maximal distance to search words within
+   * @throws IllegalArgumentException if maxDistance < 0
+   */
+  public SymSpellSet(@NotNull Collection<String> words, @NotNull Metric<String, Integer> metric, int maxDistance) {
+    super();
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("Invalid maximal distance value.");
+    }
+
+    this.maxDistance = maxDistance;
+    this.metric = IntMetric.of(metric);
+
+    Set<String> unique = new LinkedHashSet<>(words);
+    Map<String, List<Integer>> variants = new HashMap<>();
+    int id = 0;
+
+    this.words = unique.toArray(new String[0]);
+    for (String word : this.words) {
+      for (String variant : deletesOf(word, maxDistance)) {
+        variants.computeIfAbsent(variant, key -> new ArrayList<>(1)).add(id);
+      }
+
+      id++;
+    }
+
+    this.deletes = new HashMap<>(variants.size() * 4 / 3 + 1);
+    variants.forEach((variant, ids) -> deletes.put(variant, ids.stream().mapToInt(Integer::intValue).toArray()));
+  }
+
+  private static Set<String> deletesOf(String word, int distance) {
+    Set<String> result = new HashSet<>();
+    List<String> current = Collections.singletonList(word);
+    result.add(word);
+
+    for (int d = 0; d < distance && !current.isEmpty(); d++) {
+      List<String> next = new ArrayList<>();
+      for (String s : current) {
+        for (int i = 0; i < s.length(); i++) {
+          String variant = s.substring(0, i) + s.substring(i + 1);
+          if (result.add(variant)) {
+            next.add(variant);
+          }
+        }
+      }
+
+      current = next;
+    }
+
+    return result;
+  }
+
+  /**
+   * Getter for the maximal search distance
+   *
+   * @return maximal search distance
+   */
+  public int getMaxDistance() {
+    return maxDistance;
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word
+   *
+   * Only words within {@link #getMaxDistance()} are retrieved.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @return {@link Set} word-similarity pairs
+   */
+  @NotNull
+  @Override
+  public Set<Entry<String>> getSimilarTo(@NotNull String word) {
+    if (word.isEmpty()) return Collections.emptySet();
+
+    Set<Integer> seen = new HashSet<>();
+    int[] candidates = new int[16];
+    int count = 0;
+
+    for (String variant : deletesOf(word, maxDistance)) {
+      int[] ids = deletes.get(variant);
+      if (ids == null) continue;
+
+      for (int id : ids) {
+        if (words[id].charAt(0) != word.charAt(0) || !seen.add(id)) continue;
+
+        if (count == candidates.length) {
+          candidates = Arrays.copyOf(candidates, count * 2);
+        }
+
+        candidates[count++] = id;
+      }
+    }
+
+    int[] distances = new int[count];
+    BatchMetric.apply(metric, word, words, candidates, count, maxDistance, distances);
+
+    Set<Entry<String>> result = new HashSet<>();
+    for (int i = 0; i < count; i++) {
+      if (distances[i] <= maxDistance) {
+        result.add(new SimilarityEntry<>(words[candidates[i]], distances[i]));
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Retrieves number of words in this data structure.
+   *
+   * @return size of this data structure
+   */
+  @Override
+  public int size() {
+    return words.length;
+  }
+
+  /**
+   * Checks whether this data structure is empty.
+   *
+   * @return {@code true} if empty, {@code false} otherwise
+   */
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Checks whether this set contains specified Object.
+   *
+   * @param o - object to check
+   * @return {@code true} if contains, {@code false} otherwise
+   * @throws IllegalArgumentException if object is not a {@link String}
+   */
+  @Override
+  public boolean contains(@NotNull Object o) {
+    if (!(o instanceof String)) {
+      throw new IllegalArgumentException("Argument is not a String.");
+    }
+
+    int[] ids = deletes.get(o);
+    if (ids == null) return false;
+
+    for (int id : ids) {
+      if (words[id].equals(o)) return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Retrieves {@link Iterator} for this data structure.
+   *
+   * Words are iterated in the order they were added.
+   *
+   * @return retrieved {@link Iterator}
+   */
+  @Override
+  public Iterator<String> iterator() {
+    return Collections.unmodifiableList(Arrays.asList(words)).iterator();
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean add(@Nullable String s) {
+    throw new UnsupportedOperationException("Add is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean retainAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Retain is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean removeAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Clear is not supported.");
+  }
+}
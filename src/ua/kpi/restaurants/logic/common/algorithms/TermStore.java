@@ -0,0 +1,171 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.SliceMetric;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Compact immutable storage of a vocabulary.
+ *
+ * Characters of all terms are packed one after another into a single array (arena) and every term is identified
+ * by its id - position in the vocabulary. Term {@code i} occupies {@code arena[offsets[i], offsets[i + 1])}.
+ * Ids of terms are found by an open addressing hash table of ids, so the store keeps three arrays instead of
+ * a {@link String} object (with its own header and character array) per term.
+ *
+ * Distances between terms are computed in place by a {@link SliceMetric}.
+ *
+ * @see FlatBKTreeSet
+ */
+public final class TermStore implements Serializable {
+  private static final long serialVersionUID = 3620141951245587341L;
+
+  private final char[] arena;
+  private final int[] offsets;
+  private final int[] table;
+
+  /**
+   * Constructs the store from the specified terms.
+   *
+   * Terms get ids in the iteration order of the {@code terms} collection. Duplicates are ignored.
+   *
+   * @param terms - terms to store (must not be {@code null})
+   */
+  public TermStore(@NotNull Collection<String> terms) {
+    int capacity = Integer.highestOneBit(Math.max(1, terms.size()) * 2 - 1) * 2;
+    int[] table = new int[capacity];
+    Arrays.fill(table, -1);
+
+    char[] arena = new char[terms.stream().mapToInt(String::length).sum()];
+    int[] offsets = new int[terms.size() + 1];
+    int size = 0;
+
+    for (String term : terms) {
+      int slot = slotOf(term, arena, offsets, table);
+      if (table[slot] >= 0) continue;
+
+      int offset = offsets[size];
+      term.getChars(0, term.length(), arena, offset);
+      offsets[++size] = offset + term.length();
+      table[slot] = size - 1;
+    }
+
+    this.arena = Arrays.copyOf(arena, offsets[size]);
+    this.offsets = Arrays.copyOf(offsets, size + 1);
+    this.table = table;
+  }
+
+  private static int slotOf(CharSequence term, char[] arena, int[] offsets, int[] table) {
+    int hash = 0;
+    for (int i = 0; i < term.length(); i++) {
+      hash = 31 * hash + term.charAt(i);
+    }
+
+    int slot = (hash ^ hash >>> 16) & (table.length - 1);
+
+    while (table[slot] >= 0 && !equals(arena, offsets, table[slot], term)) {
+      slot = (slot + 1) & (table.length - 1);
+    }
+
+    return slot;
+  }
+
+  private static boolean equals(char[] arena, int[] offsets, int id, CharSequence term) {
+    int from = offsets[id];
+    if (offsets[id + 1] - from != term.length()) return false;
+
+    for (int i = 0; i < term.length(); i++) {
+      if (arena[from + i] != term.charAt(i)) return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Retrieves number of terms in this store.
+   *
+   * @return size of this store
+   */
+  public int size() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Retrieves length of the term.
+   *
+   * @param id - id of the term
+   * @return length of the term
+   * @throws IndexOutOfBoundsException if id is out of range
+   */
+  public int length(int id) {
+    return offsets[checkId(id) + 1] - offsets[id];
+  }
+
+  /**
+   * Retrieves character of the term.
+   *
+   * @param id - id of the term
+   * @param index - position of the character in the term
+   * @return retrieved character
+   * @throws IndexOutOfBoundsException if id or index is out of range
+   */
+  public char charAt(int id, int index) {
+    if (index < 0 || index >= length(id)) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length(id));
+    }
+
+    return arena[offsets[id] + index];
+  }
+
+  /**
+   * Copies the term to a newly created {@link String}.
+   *
+   * @param id - id of the term
+   * @return retrieved term
+   * @throws IndexOutOfBoundsException if id is out of range
+   */
+  @NotNull
+  public String get(int id) {
+    return new String(arena, offsets[checkId(id)], length(id));
+  }
+
+  /**
+   * Retrieves id of the term.
+   *
+   * @param term - term to look for (must not be {@code null})
+   * @return id of the term or {@code -1} if it is not stored
+   */
+  public int indexOf(@NotNull CharSequence term) {
+    return table[slotOf(term, arena, offsets, table)];
+  }
+
+  /**
+   * Performs bounded distance retrieval between a stored term and a word.
+   *
+   * The word is passed as an array, so a caller that compares it with many terms converts it once.
+   *
+   * @param metric - metric to compute distance with (must not be {@code null})
+   * @param id - id of the term
+   * @param word - characters of the word (must not be {@code null})
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @return the exact distance if it is not greater than {@code maxDistance}, some value greater than
+   * {@code maxDistance} otherwise
+   * @throws IndexOutOfBoundsException if id is out of range
+   * @see SliceMetric#apply(IntMetric, char[], int, int, char[], int, int, int)
+   */
+  public int distance(@NotNull IntMetric<String> metric, int id, @NotNull char[] word, int maxDistance) {
+    return SliceMetric.apply(metric, arena, offsets[checkId(id)], offsets[id + 1],
+        word, 0, word.length, maxDistance);
+  }
+
+  private int checkId(int id) {
+    if (id < 0 || id >= size()) {
+      throw new IndexOutOfBoundsException("Id: " + id + ", size: " + size());
+    }
+
+    return id;
+  }
+}
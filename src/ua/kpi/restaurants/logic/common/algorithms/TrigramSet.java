@@ -0,0 +1,319 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ua.kpi.restaurants.logic.common.utils.metrics.BatchMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.Metric;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Implementation of fuzzy string search based on an inverted index of character trigrams.
+ *
+ * Every word is padded with two sentinel characters on both sides and split into {@code length + 2} overlapping
+ * trigrams. A single edit operation changes at most three trigrams, so two words within edit distance {@code k}
+ * share at least {@code max(length) + 2 - 3 * k} trigrams (repeated trigrams are counted as many times
+ * as they occur in both words). A search counts shared trigrams using the postings of the query trigrams
+ * and verifies with the metric only the words that pass this count filter.
+ *
+ * If the bound is not positive (short words or large distances), count filter can not reject anything,
+ * so all words of appropriate lengths are verified.
+ *
+ * Candidates that pass the filter are verified together with
+ * {@link BatchMetric#apply(IntMetric, Object, Object[], int[], int, int, int[])}, so a metric that supports
+ * batches prepares the query once per search.
+ *
+ * Words are numbered in the order of their first character and length, so words that can be retrieved
+ * for a query form a single range of ids, and only that range of every posting list is visited.
+ *
+ * As {@link BKTreeSet} does, it reports only words that start with the same character as the query word.
+ *
+ * The index is constructed once from a {@link Collection} of words and can not be modified afterwards.
+ *
+ * @see SymSpellSet
+ */
+public final class TrigramSet extends AbstractSet<String> implements SimilaritySet<String>, Serializable {
+  private static final long serialVersionUID = -3306846107771394521L;
+  private static final char PADDING = '\0';
+  private static final int Q = 3;
+  private static final Comparator<String> ORDER = Comparator
+      .comparingInt((String s) -> s.isEmpty() ? -1 : s.charAt(0))
+      .thenComparingInt(String::length)
+      .thenComparing(Comparator.naturalOrder());
+  private static final ThreadLocal<int[]> COUNTS = ThreadLocal.withInitial(() -> new int[0]);
+  private static final ThreadLocal<int[]> CANDIDATES = ThreadLocal.withInitial(() -> new int[0]);
+  private static final ThreadLocal<int[]> DISTANCES = ThreadLocal.withInitial(() -> new int[0]);
+
+  private final String[] words;
+  private final long[] keys;
+  private final Map<Long, int[]> postings;
+  private final int maxDistance;
+  private final IntMetric<String> metric;
+
+  /**
+   * Constructs the index from the specified words and metric.
+   *
+   * Delegates the task to {@link #TrigramSet(Collection, Metric, int)}
+   * with {@link BKTreeSet#DEFAULT_THRESHOLD} as the maximal distance.
+   *
+   * @param words - words to construct index from (must not be {@code null})
+   * @param metric - metric to verify candidates with (must not be {@code null})
+   */
+  public TrigramSet(@NotNull Collection<String> words, @NotNull Metric<String, Integer> metric) {
+    this(words, metric, BKTreeSet.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs the index from the specified words, metric and maximal search distance.
+   *
+   * Metric must be an edit distance, otherwise count filter may reject similar words.
+   * Duplicates are ignored.
+   *
+   * @param words - words to construct index from (must not be {@code null})
+   * @param metric - metric to verify candidates with (must not be {@code null})
+   * @param maxDistance - maximal distance to search words within
+   * @throws IllegalArgumentException if maxDistance < 0
+   */
+  public TrigramSet(@NotNull Collection<String> words, @NotNull Metric<String, Integer> metric, int maxDistance) {
+    super();
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("Invalid maximal distance value.");
+    }
+
+    this.maxDistance = maxDistance;
+    this.metric = IntMetric.of(metric);
+
+    SortedSet<String> sorted = new TreeSet<>(ORDER);
+    sorted.addAll(words);
+    this.words = sorted.toArray(new String[0]);
+    this.keys = new long[this.words.length];
+
+    Map<Long, List<Integer>> lists = new HashMap<>();
+    for (int id = 0; id < this.words.length; id++) {
+      keys[id] = keyOf(this.words[id]);
+      for (long trigram : trigramsOf(this.words[id])) {
+        lists.computeIfAbsent(trigram, key -> new ArrayList<>()).add(id);
+      }
+    }
+
+    this.postings = new HashMap<>(lists.size() * 4 / 3 + 1);
+    lists.forEach((trigram, ids) -> postings.put(trigram, ids.stream().mapToInt(Integer::intValue).toArray()));
+  }
+
+  private static long keyOf(String word) {
+    return word.isEmpty() ? -1 : keyOf(word.charAt(0), word.length());
+  }
+
+  private static long keyOf(char first, int length) {
+    return (long) first << 32 | length;
+  }
+
+  /*
+   * Trigram is packed into the lower 48 bits, the number of its previous occurrences in the word is stored
+   * in the upper 16 bits, so a set of such keys represents a multiset of trigrams.
+   */
+  private static long[] trigramsOf(String word) {
+    int n = word.length() + Q - 1;
+    long[] result = new long[n];
+    Map<Long, Integer> occurrences = new HashMap<>();
+
+    for (int i = 0; i < n; i++) {
+      long trigram = 0;
+      for (int j = i - Q + 1; j <= i; j++) {
+        trigram = trigram << 16 | (j < 0 || j >= word.length() ? PADDING : word.charAt(j));
+      }
+
+      int occurrence = occurrences.merge(trigram, 1, Integer::sum) - 1;
+      result[i] = (long) occurrence << 48 | trigram;
+    }
+
+    return result;
+  }
+
+  private int lowerBound(long key) {
+    int low = 0, high = keys.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  private static int lowerBound(int[] ids, int id) {
+    int i = Arrays.binarySearch(ids, id);
+    return i < 0 ? -i - 1 : i;
+  }
+
+  /**
+   * Getter for the maximal search distance
+   *
+   * @return maximal search distance
+   */
+  public int getMaxDistance() {
+    return maxDistance;
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word
+   *
+   * Only words within {@link #getMaxDistance()} are retrieved.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @return {@link Set} word-similarity pairs
+   */
+  @NotNull
+  @Override
+  public Set<Entry<String>> getSimilarTo(@NotNull String word) {
+    SimilarityBuffer<String> buffer = new SimilarityBuffer<>();
+    getSimilarTo(word, buffer);
+    return buffer.toSet();
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word into the given buffer
+   *
+   * Only words within {@link #getMaxDistance()} are retrieved.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @param buffer - buffer to write word-similarity pairs to (must not be {@code null})
+   */
+  @Override
+  public void getSimilarTo(@NotNull String word, @NotNull SimilarityBuffer<String> buffer) {
+    buffer.clear();
+    if (word.isEmpty()) return;
+
+    int length = word.length(), k = maxDistance;
+    int from = lowerBound(keyOf(word.charAt(0), Math.max(1, length - k)));
+    int to = lowerBound(keyOf(word.charAt(0), length + k + 1));
+    if (from == to) return;
+
+    int[] counts = scratch(COUNTS, words.length);
+    for (long trigram : trigramsOf(word)) {
+      int[] ids = postings.get(trigram);
+      if (ids == null) continue;
+
+      for (int i = lowerBound(ids, from); i < ids.length && ids[i] < to; i++) {
+        counts[ids[i]]++;
+      }
+    }
+
+    int[] candidates = scratch(CANDIDATES, to - from);
+    int count = 0;
+    for (int id = from; id < to; id++) {
+      int shared = counts[id];
+      counts[id] = 0;
+
+      if (shared >= Math.max(length, words[id].length()) + Q - 1 - Q * k) {
+        candidates[count++] = id;
+      }
+    }
+
+    int[] distances = scratch(DISTANCES, count);
+    BatchMetric.apply(metric, word, words, candidates, count, k, distances);
+    for (int i = 0; i < count; i++) {
+      if (distances[i] <= k) {
+        buffer.add(words[candidates[i]], distances[i]);
+      }
+    }
+  }
+
+  private static int[] scratch(ThreadLocal<int[]> local, int size) {
+    int[] array = local.get();
+    if (array.length < size) {
+      array = new int[Math.max(size, array.length * 2)];
+      local.set(array);
+    }
+
+    return array;
+  }
+
+  /**
+   * Retrieves number of words in this data structure.
+   *
+   * @return size of this data structure
+   */
+  @Override
+  public int size() {
+    return words.length;
+  }
+
+  /**
+   * Checks whether this data structure is empty.
+   *
+   * @return {@code true} if empty, {@code false} otherwise
+   */
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Checks whether this set contains specified Object.
+   *
+   * @param o - object to check
+   * @return {@code true} if contains, {@code false} otherwise
+   * @throws IllegalArgumentException if object is not a {@link String}
+   */
+  @Override
+  public boolean contains(@NotNull Object o) {
+    if (!(o instanceof String)) {
+      throw new IllegalArgumentException("Argument is not a String.");
+    }
+
+    return Arrays.binarySearch(words, (String) o, ORDER) >= 0;
+  }
+
+  /**
+   * Retrieves {@link Iterator} for this data structure.
+   *
+   * Words are iterated in the order of their first characters and lengths.
+   *
+   * @return retrieved {@link Iterator}
+   */
+  @Override
+  public Iterator<String> iterator() {
+    return Collections.unmodifiableList(Arrays.asList(words)).iterator();
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean add(@Nullable String s) {
+    throw new UnsupportedOperationException("Add is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean retainAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Retain is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean removeAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Clear is not supported.");
+  }
+}
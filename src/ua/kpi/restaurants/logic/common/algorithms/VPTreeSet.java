@@ -0,0 +1,436 @@
+package ua.kpi.restaurants.logic.common.algorithms;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ua.kpi.restaurants.logic.common.utils.metrics.BoundedMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.Metric;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Implementation of the <a href="https://en.wikipedia.org/wiki/Vantage-point_tree">VP-tree</a> data structure.
+ *
+ * Every node keeps a vantage point word and a radius. Words within the radius from the vantage point are stored
+ * in the inside subtree, the other ones are stored in the outside subtree. Radius is chosen to split words
+ * as evenly as possible, so the tree is balanced.
+ *
+ * Unlike {@link BKTreeSet} it supports efficient k-nearest-neighbour queries (see {@link #nearest(String, int)}):
+ * the search radius shrinks as soon as better candidates are found, so finding the single most similar word
+ * prunes much more of the tree than a range query with a fixed threshold.
+ *
+ * Range queries ({@link #getSimilarTo(String)}) have the same semantics as in {@link BKTreeSet}.
+ *
+ * The tree is constructed once from a {@link Collection} of words and can not be modified afterwards.
+ *
+ * @see BKTreeSet
+ */
+public final class VPTreeSet extends AbstractSet<String> implements SimilaritySet<String>, Serializable {
+  private static final long serialVersionUID = -5273409627702139128L;
+  private static final long SEED = 0x5eed;
+
+  private final Node root;
+  private final int size;
+  private final IntMetric<String> metric;
+  private int threshold;
+
+  /**
+   * Constructs the tree from the specified words and metric.
+   *
+   * Delegates the task to {@link #VPTreeSet(Collection, Metric, int)}.
+   *
+   * @param words - words to construct tree from (must not be {@code null})
+   * @param metric - metric to construct tree on (must not be {@code null})
+   */
+  public VPTreeSet(@NotNull Collection<String> words, @NotNull Metric<String, Integer> metric) {
+    this(words, metric, BKTreeSet.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs the tree from the specified words, metric and search threshold.
+   *
+   * Vantage points are selected pseudo-randomly with a fixed seed, so the same words always produce the same tree.
+   * Duplicates are ignored.
+   *
+   * @param words - words to construct tree from (must not be {@code null})
+   * @param metric - metric to construct tree on (must not be {@code null})
+   * @param threshold - search threshold
+   * @throws IllegalArgumentException if threshold id < 0
+   */
+  public VPTreeSet(@NotNull Collection<String> words, @NotNull Metric<String, Integer> metric, int threshold) {
+    super();
+    this.threshold = validateThreshold(threshold);
+    this.metric = IntMetric.of(metric);
+
+    List<String> list = new ArrayList<>(new LinkedHashSet<>(words));
+    Collections.shuffle(list, new Random(SEED));
+
+    this.size = list.size();
+    this.root = build(list);
+  }
+
+  private static int validateThreshold(int val) {
+    if (val < 0) {
+      throw new IllegalArgumentException("Invalid threshold value.");
+    }
+
+    return val;
+  }
+
+  /**
+   * Getter for threshold
+   *
+   * @return current threshold
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Setter for threshold
+   *
+   * @param threshold - new threshold value
+   * @throws IllegalArgumentException if threshold id < 0
+   */
+  public void setThreshold(int threshold) {
+    this.threshold = validateThreshold(threshold);
+  }
+
+  private static final class Node implements Serializable {
+    private static final long serialVersionUID = 2417016226466934337L;
+
+    private final String word;
+    private final int radius;
+    private final Node inside;
+    private final Node outside;
+
+    private Node(String word, int radius, Node inside, Node outside) {
+      this.word = word;
+      this.radius = radius;
+      this.inside = inside;
+      this.outside = outside;
+    }
+  }
+
+  private static final class Candidate {
+    private static final Comparator<Candidate> ORDER = Comparator
+        .comparingInt((Candidate c) -> c.dist)
+        .thenComparing(c -> c.word);
+
+    private final String word;
+    private final int dist;
+
+    private Candidate(String word, int dist) {
+      this.word = word;
+      this.dist = dist;
+    }
+  }
+
+  private Node build(List<String> words) {
+    if (words.isEmpty()) return null;
+
+    String vantage = words.get(0);
+    List<String> rest = words.subList(1, words.size());
+    if (rest.isEmpty()) return new Node(vantage, 0, null, null);
+
+    int[] dists = new int[rest.size()];
+    for (int i = 0; i < dists.length; i++) {
+      dists[i] = metric.applyAsInt(vantage, rest.get(i));
+    }
+
+    int[] sorted = dists.clone();
+    Arrays.sort(sorted);
+
+    int median = sorted[(sorted.length - 1) / 2];
+    int below = countNotGreater(sorted, median - 1), notAbove = countNotGreater(sorted, median);
+    int half = sorted.length / 2;
+    int radius = Math.abs(below - half) < Math.abs(notAbove - half) ? median - 1 : median;
+
+    List<String> inside = new ArrayList<>(), outside = new ArrayList<>();
+    for (int i = 0; i < dists.length; i++) {
+      (dists[i] <= radius ? inside : outside).add(rest.get(i));
+    }
+
+    return new Node(vantage, radius, build(inside), build(outside));
+  }
+
+  private static int countNotGreater(int[] sorted, int value) {
+    int low = 0, high = sorted.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted[mid] <= value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Retrieves words and their similarities to the given word
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @return {@link Set} word-similarity pairs
+   */
+  @NotNull
+  @Override
+  public Set<Entry<String>> getSimilarTo(@NotNull String word) {
+    if (word.isEmpty() || root == null) return Collections.emptySet();
+
+    Deque<Node> stack = new ArrayDeque<>();
+    Set<Entry<String>> result = new HashSet<>();
+
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+
+      int dist = BoundedMetric.apply(metric, node.word, word, node.radius + threshold);
+      if (node.word.charAt(0) == word.charAt(0) && dist <= threshold) {
+        result.add(new SimilarityEntry<>(node.word, dist));
+      }
+
+      if (node.inside != null && dist - threshold <= node.radius) {
+        stack.push(node.inside);
+      }
+
+      if (node.outside != null && dist + threshold > node.radius) {
+        stack.push(node.outside);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Retrieves at most {@code k} words most similar to the given word.
+   *
+   * Only words retrieved by {@link #getSimilarTo(String)} are considered, i.e. it is {@link #nearest(String, int, int)}
+   * limited by the threshold and restricted to words starting with the same character as the given word.
+   *
+   * @param word - word to compute similarities to (must not be {@code null})
+   * @param k - maximal number of words to retrieve
+   * @return {@link List} of word-similarity pairs sorted by similarity
+   * @throws IllegalArgumentException if k < 0
+   */
+  @NotNull
+  @Override
+  public List<Entry<String>> getMostSimilar(@NotNull String word, int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("Invalid number of elements.");
+    }
+
+    return search(word, k, threshold, true);
+  }
+
+  /**
+   * Retrieves {@code k} words nearest to the given word.
+   *
+   * Delegates the task to {@link #nearest(String, int, int)} with no limit on the distance.
+   *
+   * @param word - word to find neighbours of (must not be {@code null})
+   * @param k - maximal number of words to retrieve
+   * @return {@link List} of word-similarity pairs sorted by similarity
+   * @throws IllegalArgumentException if k < 0
+   */
+  @NotNull
+  public List<Entry<String>> nearest(@NotNull String word, int k) {
+    return nearest(word, k, Integer.MAX_VALUE / 2);
+  }
+
+  /**
+   * Retrieves at most {@code k} words nearest to the given word within {@code maxDistance}.
+   *
+   * Search radius starts at {@code maxDistance} and shrinks to the distance of the {@code k}-th best candidate
+   * found so far. Subtrees that can not contain a better candidate are pruned.
+   * Words at equal distance are ordered lexicographically.
+   *
+   * @param word - word to find neighbours of (must not be {@code null})
+   * @param k - maximal number of words to retrieve
+   * @param maxDistance - maximal distance of retrieved words
+   * @return {@link List} of word-similarity pairs sorted by similarity
+   * @throws IllegalArgumentException if k < 0 or maxDistance < 0
+   */
+  @NotNull
+  public List<Entry<String>> nearest(@NotNull String word, int k, int maxDistance) {
+    if (k < 0 || maxDistance < 0) {
+      throw new IllegalArgumentException("Invalid search parameters.");
+    }
+
+    return search(word, k, maxDistance, false);
+  }
+
+  private List<Entry<String>> search(String word, int k, int maxDistance, boolean sameFirstChar) {
+    if (k == 0 || root == null || (sameFirstChar && word.isEmpty())) return Collections.emptyList();
+
+    PriorityQueue<Candidate> best = new PriorityQueue<>(k, Candidate.ORDER.reversed());
+    search(root, word, k, maxDistance, sameFirstChar, best);
+
+    List<Candidate> sorted = new ArrayList<>(best);
+    sorted.sort(Candidate.ORDER);
+
+    List<Entry<String>> result = new ArrayList<>(sorted.size());
+    for (Candidate candidate : sorted) {
+      result.add(new SimilarityEntry<>(candidate.word, candidate.dist));
+    }
+
+    return result;
+  }
+
+  private void search(
+      Node node,
+      String word,
+      int k,
+      int maxDistance,
+      boolean sameFirstChar,
+      PriorityQueue<Candidate> best
+  ) {
+    int tau = tau(best, k, maxDistance);
+    int dist = BoundedMetric.apply(metric, node.word, word, node.radius + tau);
+
+    if (dist <= tau && (!sameFirstChar || node.word.charAt(0) == word.charAt(0))) {
+      Candidate candidate = new Candidate(node.word, dist);
+      if (best.size() < k) {
+        best.add(candidate);
+      } else if (Candidate.ORDER.compare(candidate, best.peek()) < 0) {
+        best.poll();
+        best.add(candidate);
+      }
+    }
+
+    Node first = dist <= node.radius ? node.inside : node.outside;
+    Node second = first == node.inside ? node.outside : node.inside;
+
+    if (first != null && isReachable(node, first, dist, tau(best, k, maxDistance))) {
+      search(first, word, k, maxDistance, sameFirstChar, best);
+    }
+
+    if (second != null && isReachable(node, second, dist, tau(best, k, maxDistance))) {
+      search(second, word, k, maxDistance, sameFirstChar, best);
+    }
+  }
+
+  private static int tau(PriorityQueue<Candidate> best, int k, int maxDistance) {
+    return best.size() < k ? maxDistance : best.peek().dist;
+  }
+
+  private static boolean isReachable(Node node, Node child, int dist, int tau) {
+    return child == node.inside ? dist - tau <= node.radius : dist + tau > node.radius;
+  }
+
+  /**
+   * Retrieves number of words in this data structure.
+   *
+   * @return size of this data structure
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether this data structure is empty.
+   *
+   * @return {@code true} if empty, {@code false} otherwise
+   */
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Checks whether this set contains specified Object.
+   *
+   * @param o - object to check
+   * @return {@code true} if contains, {@code false} otherwise
+   * @throws IllegalArgumentException if object is not a {@link String}
+   */
+  @Override
+  public boolean contains(@NotNull Object o) {
+    if (!(o instanceof String)) {
+      throw new IllegalArgumentException("Argument is not a String.");
+    }
+
+    String s = (String) o;
+    Node node = root;
+
+    while (node != null) {
+      int dist = BoundedMetric.apply(metric, node.word, s, node.radius + 1);
+      if (dist == 0) return true;
+      node = dist <= node.radius ? node.inside : node.outside;
+    }
+
+    return false;
+  }
+
+  /**
+   * Retrieves {@link Iterator} for this data structure.
+   *
+   * Words are iterated in the pre-order of the tree.
+   *
+   * @return retrieved {@link Iterator}
+   */
+  @Override
+  public Iterator<String> iterator() {
+    Deque<Node> stack = new ArrayDeque<>();
+    if (root != null) {
+      stack.push(root);
+    }
+
+    return new Iterator<String>() {
+      @Override
+      public boolean hasNext() {
+        return !stack.isEmpty();
+      }
+
+      @Override
+      public String next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException("Iterator has no elements to iterate.");
+        }
+
+        Node node = stack.pop();
+        if (node.outside != null) stack.push(node.outside);
+        if (node.inside != null) stack.push(node.inside);
+        return node.word;
+      }
+    };
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean add(@Nullable String s) {
+    throw new UnsupportedOperationException("Add is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean retainAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Retain is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public boolean removeAll(@Nullable Collection<?> collection) {
+    throw new UnsupportedOperationException("Remove is not supported.");
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Clear is not supported.");
+  }
+}
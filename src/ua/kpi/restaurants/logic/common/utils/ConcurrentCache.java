@@ -0,0 +1,267 @@
+package ua.kpi.restaurants.logic.common.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded thread-safe cache of computed values.
+ *
+ * Keys are distributed among independently locked segments, so threads that access different keys rarely
+ * contend. Every segment keeps its entries in the least recently used order and evicts the least recently
+ * used entry when it is full.
+ *
+ * Eviction is guarded by frequency-aware admission (in the spirit of
+ * <a href="https://arxiv.org/abs/1512.00727">TinyLFU</a>): every segment estimates how often keys are requested
+ * with a small <a href="https://en.wikipedia.org/wiki/Count%E2%80%93min_sketch">count-min sketch</a>,
+ * and a new entry replaces the eviction candidate only if its key is requested more often.
+ * Counters are halved periodically, so the estimates follow changes of the workload.
+ * Thus a burst of rare keys can not wash frequent keys out of the cache.
+ *
+ * Numbers of hits and misses are counted to monitor the cache efficiency.
+ *
+ * Cache of the maximal size {@code 0} keeps nothing and computes every value.
+ *
+ * @param <K> - type of keys
+ * @param <V> - type of values
+ */
+public final class ConcurrentCache<K, V> {
+  private static final int MAX_SEGMENTS = 16;
+  private static final int MIN_SEGMENT_SIZE = 16;
+
+  private final Segment<K, V>[] segments;
+  private final int maximumSize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Constructs an empty cache.
+   *
+   * @param maximumSize - the largest number of entries to keep
+   * @throws IllegalArgumentException if maximumSize < 0
+   */
+  @SuppressWarnings("unchecked")
+  public ConcurrentCache(int maximumSize) {
+    if (maximumSize < 0) {
+      throw new IllegalArgumentException("Invalid maximal size value.");
+    }
+
+    this.maximumSize = maximumSize;
+
+    int count = maximumSize == 0 ? 0
+        : Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maximumSize / MIN_SEGMENT_SIZE)));
+    this.segments = (Segment<K, V>[]) new Segment<?, ?>[count];
+    for (int i = 0; i < count; i++) {
+      segments[i] = new Segment<>(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+    }
+  }
+
+  /** Part of the cache guarded by its own lock */
+  private static final class Segment<K, V> {
+    private static final int DEPTH = 4;
+    private static final int MAX_FREQUENCY = 15;
+    private static final int WIDTH_FACTOR = 8;
+    private static final int SAMPLE_FACTOR = 10;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final int capacity;
+    private final LinkedHashMap<K, V> entries;
+    private final byte[] sketch;
+    private final int mask;
+    private final int period;
+    private int additions = 0;
+
+    private Segment(int capacity) {
+      int sample = Math.max(MIN_SEGMENT_SIZE, capacity);
+      int width = Integer.highestOneBit(sample * 2 - 1) * WIDTH_FACTOR;
+
+      this.capacity = capacity;
+      this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true);
+      this.sketch = new byte[DEPTH * width];
+      this.mask = width - 1;
+      this.period = SAMPLE_FACTOR * sample;
+    }
+
+    private int indexOf(int hash, int row) {
+      int h = (hash + SEEDS[row]) * SEEDS[row];
+      return row * (mask + 1) + ((h ^ h >>> 17) & mask);
+    }
+
+    private void record(int hash) {
+      for (int row = 0; row < DEPTH; row++) {
+        int i = indexOf(hash, row);
+        if (sketch[i] < MAX_FREQUENCY) {
+          sketch[i]++;
+        }
+      }
+
+      if (++additions == period) {
+        for (int i = 0; i < sketch.length; i++) {
+          sketch[i] >>= 1;
+        }
+
+        additions /= 2;
+      }
+    }
+
+    private int frequency(int hash) {
+      int result = MAX_FREQUENCY;
+      for (int row = 0; row < DEPTH; row++) {
+        result = Math.min(result, sketch[indexOf(hash, row)]);
+      }
+
+      return result;
+    }
+
+    private synchronized V get(K key, int hash) {
+      record(hash);
+      return entries.get(key);
+    }
+
+    private synchronized void put(K key, int hash, V value) {
+      if (entries.containsKey(key) || entries.size() < capacity) {
+        entries.put(key, value);
+        return;
+      }
+
+      Iterator<K> eldest = entries.keySet().iterator();
+      K victim = eldest.next();
+      if (frequency(hash) > frequency(spread(victim.hashCode()))) {
+        eldest.remove();
+        entries.put(key, value);
+      }
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+
+    private synchronized void clear() {
+      entries.clear();
+      Arrays.fill(sketch, (byte) 0);
+      additions = 0;
+    }
+  }
+
+  /* Finalizer of MurmurHash3: similar keys (e.g. words with a common prefix) differ in all bits of the result */
+  private static int spread(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    hash *= 0xC2B2AE35;
+    return hash ^ hash >>> 16;
+  }
+
+  private Segment<K, V> segmentOf(int hash) {
+    return segments[(hash >>> 28) & (segments.length - 1)];
+  }
+
+  /**
+   * Retrieves value of the key computing it if it is not cached.
+   *
+   * The value is computed outside of any lock, so concurrent requests of the same missing key may compute it
+   * several times. Computed value is cached only if it is admitted.
+   *
+   * @param key - key to retrieve value of (must not be {@code null})
+   * @param loader - function to compute value of a missing key (must not be {@code null}, must not return
+   *               {@code null})
+   * @return cached or computed value
+   */
+  @NotNull
+  public V get(@NotNull K key, @NotNull Function<? super K, ? extends V> loader) {
+    V value = getIfPresent(key);
+    if (value == null) {
+      value = loader.apply(key);
+      put(key, value);
+    }
+
+    return value;
+  }
+
+  /**
+   * Retrieves cached value of the key.
+   *
+   * @param key - key to retrieve value of (must not be {@code null})
+   * @return cached value or {@code null} if the key is not cached
+   */
+  @Nullable
+  public V getIfPresent(@NotNull K key) {
+    if (segments.length == 0) {
+      misses.increment();
+      return null;
+    }
+
+    int hash = spread(key.hashCode());
+    V value = segmentOf(hash).get(key, hash);
+    (value == null ? misses : hits).increment();
+    return value;
+  }
+
+  /**
+   * Caches value of the key if it is admitted.
+   *
+   * @param key - key to cache value of (must not be {@code null})
+   * @param value - value to cache (must not be {@code null})
+   */
+  public void put(@NotNull K key, @NotNull V value) {
+    if (segments.length == 0) return;
+
+    int hash = spread(key.hashCode());
+    segmentOf(hash).put(key, hash, value);
+  }
+
+  /**
+   * Removes all entries from this cache. Counters of hits and misses are retained.
+   */
+  public void clear() {
+    for (Segment<K, V> segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * Retrieves number of cached entries.
+   *
+   * @return size of this cache
+   */
+  public int size() {
+    int result = 0;
+    for (Segment<K, V> segment : segments) {
+      result += segment.size();
+    }
+
+    return result;
+  }
+
+  /**
+   * Getter for the maximal size
+   *
+   * @return the largest number of entries this cache keeps
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Retrieves number of requests that found a cached value.
+   *
+   * @return number of hits
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Retrieves number of requests that did not find a cached value.
+   *
+   * @return number of misses
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+}
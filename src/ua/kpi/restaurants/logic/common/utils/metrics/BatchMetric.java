@@ -0,0 +1,58 @@
+package ua.kpi.restaurants.logic.common.utils.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a bounded distance metric that can compare one query word with many candidates at once
+ *
+ * It is useful for the verification step of filtering indices, where every query produces a list of candidates
+ * and all of them are compared with the same word, so the work that depends on the query alone
+ * (e.g. preprocessing of its characters) can be done once per list instead of once per pair
+ *
+ * @param <E> type of words
+ * @see BoundedMetric
+ */
+public interface BatchMetric<E> extends BoundedMetric<E> {
+  /**
+   * Performs bounded distance retrieval between the query and the candidates selected by ids
+   *
+   * @param query - word to compute distances to (must not be {@code null})
+   * @param words - words to select candidates from (must not be {@code null})
+   * @param ids - positions of candidates in {@code words} (must not be {@code null})
+   * @param count - number of candidates (the first {@code count} elements of {@code ids} are used)
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @param distances - array to write distance to {@code words[ids[i]]} at position {@code i} (must not be
+   *                  {@code null}); every distance is exact if it is not greater than {@code maxDistance},
+   *                  some value greater than {@code maxDistance} otherwise
+   */
+  void apply(@NotNull E query, @NotNull E[] words, @NotNull int[] ids, int count, int maxDistance,
+             @NotNull int[] distances);
+
+  /**
+   * Performs batch bounded distance retrieval for an arbitrary metric
+   *
+   * It uses {@link #apply(Object, Object[], int[], int, int, int[])} if {@code metric} is a {@code BatchMetric}
+   * and compares candidates one by one with {@link BoundedMetric#apply(IntMetric, Object, Object, int)} otherwise
+   *
+   * @param metric to compute distances with (must not be {@code null})
+   * @param query - word to compute distances to (must not be {@code null})
+   * @param words - words to select candidates from (must not be {@code null})
+   * @param ids - positions of candidates in {@code words} (must not be {@code null})
+   * @param count - number of candidates (the first {@code count} elements of {@code ids} are used)
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @param distances - array to write distance to {@code words[ids[i]]} at position {@code i}
+   *                  (must not be {@code null})
+   * @param <E> type of words
+   */
+  static <E> void apply(@NotNull IntMetric<E> metric, @NotNull E query, @NotNull E[] words, @NotNull int[] ids,
+                        int count, int maxDistance, @NotNull int[] distances) {
+    if (metric instanceof BatchMetric) {
+      ((BatchMetric<E>) metric).apply(query, words, ids, count, maxDistance, distances);
+      return;
+    }
+
+    for (int i = 0; i < count; i++) {
+      distances[i] = BoundedMetric.apply(metric, words[ids[i]], query, maxDistance);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package ua.kpi.restaurants.logic.common.utils.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a distance metric that can stop computation as soon as the distance exceeds a given bound
+ *
+ * It is useful when the caller only needs to know whether two words are close enough
+ * (e.g. search with a fixed radius) and most of the pairs compared are far apart
+ *
+ * @param <E> type of words
+ * @see IntMetric
+ */
+public interface BoundedMetric<E> extends IntMetric<E> {
+  /**
+   * Performs bounded distance retrieval
+   *
+   * @param a first word (must not be {@code null})
+   * @param b second word (must not be {@code null})
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @return the exact distance if it is not greater than {@code maxDistance}, some value greater than
+   * {@code maxDistance} otherwise
+   */
+  int apply(@NotNull E a, @NotNull E b, int maxDistance);
+
+  /**
+   * Performs bounded distance retrieval for an arbitrary metric
+   *
+   * It uses {@link #apply(Object, Object, int)} if {@code metric} is a {@code BoundedMetric}
+   * and falls back to the full computation otherwise
+   *
+   * @param metric to compute distance with (must not be {@code null})
+   * @param a first word (must not be {@code null})
+   * @param b second word (must not be {@code null})
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @param <E> type of words
+   * @return the exact distance if it is not greater than {@code maxDistance}, some value greater than
+   * {@code maxDistance} otherwise
+   */
+  static <E> int apply(@NotNull IntMetric<E> metric, @NotNull E a, @NotNull E b, int maxDistance) {
+    if (metric instanceof BoundedMetric) {
+      return ((BoundedMetric<E>) metric).apply(a, b, maxDistance);
+    }
+
+    return metric.applyAsInt(a, b);
+  }
+}
@@ -0,0 +1,56 @@
+package ua.kpi.restaurants.logic.common.utils.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a metric that retrieves {@code int} property of words
+ *
+ * It is a primitive specialization of {@link Metric} that allows to avoid boxing of the retrieved property.
+ * {@link #apply(Object, Object)} is still available, so instances of this interface can be used wherever
+ * {@link Metric} is expected
+ *
+ * @param <E> type of words
+ * @see Metric
+ */
+@FunctionalInterface
+public interface IntMetric<E> extends Metric<E, Integer> {
+  /**
+   * Performs property retrieval
+   *
+   * @param a first word (must not be {@code null})
+   * @param b second word (must not be {@code null})
+   * @return retrieved property
+   */
+  int applyAsInt(@NotNull E a, @NotNull E b);
+
+  /**
+   * Performs property retrieval boxing the result
+   *
+   * Delegates the task to {@link #applyAsInt(Object, Object)}
+   *
+   * @param a first word (must not be {@code null})
+   * @param b second word (must not be {@code null})
+   * @return retrieved property
+   */
+  @Override
+  @NotNull
+  default Integer apply(@NotNull E a, @NotNull E b) {
+    return applyAsInt(a, b);
+  }
+
+  /**
+   * Adapts an arbitrary {@link Metric} to this interface
+   *
+   * @param metric to adapt (must not be {@code null})
+   * @param <E> type of words
+   * @return {@code metric} itself if it is an {@code IntMetric}, adapter otherwise
+   */
+  @SuppressWarnings("unchecked")
+  static <E> IntMetric<E> of(@NotNull Metric<E, ? extends Number> metric) {
+    if (metric instanceof IntMetric) {
+      return (IntMetric<E>) metric;
+    }
+
+    return (a, b) -> metric.apply(a, b).intValue();
+  }
+}
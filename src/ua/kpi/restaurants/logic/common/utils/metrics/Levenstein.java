@@ -8,8 +8,9 @@ import org.jetbrains.annotations.NotNull;
  * It is used to retrieve similarity of two words
  *
  * @see Metric
+ * @see BoundedMetric
  */
-public final class Levenstein implements Metric<String, Integer> {
+public final class Levenstein implements BoundedMetric<String> {
   private static final long serialVersionUID = -928827437231971185L;
 
   /**
@@ -23,8 +24,7 @@ public final class Levenstein implements Metric<String, Integer> {
    * @return retrieved similarity
    */
   @Override
-  @NotNull
-  public Integer apply(@NotNull String a, @NotNull String b) {
+  public int applyAsInt(@NotNull String a, @NotNull String b) {
     int n = a.length(), m = b.length();
 
     if (n == 0) return m;
@@ -47,4 +47,50 @@ public final class Levenstein implements Metric<String, Integer> {
 
     return buffer[n];
   }
+
+  /**
+   * Performs bounded similarity retrieval
+   *
+   * Only the diagonal band of width {@code 2 * maxDistance + 1} of the dynamic programming table is computed.
+   * Computation stops as soon as every cell of the current row exceeds {@code maxDistance}.
+   * Its time complexity is {@code O(min(m, n) * maxDistance)} and memory complexity is {@code &theta;(n)}
+   * where {@code m} and {@code n} are sizes of two words respectively
+   *
+   * @param a first word (must not be {@code null})
+   * @param b second word (must not be {@code null})
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @return retrieved similarity if it is not greater than {@code maxDistance}, {@code maxDistance + 1} otherwise
+   */
+  @Override
+  public int apply(@NotNull String a, @NotNull String b, int maxDistance) {
+    int n = a.length(), m = b.length(), k = maxDistance;
+
+    if (Math.abs(n - m) > k) return k + 1;
+    if (n == 0 || m == 0 || k >= Math.max(n, m)) return Math.min(applyAsInt(a, b), k + 1);
+
+    int[] buffer = new int[n + 1]; // cells outside of the band are capped by k + 1
+    for (int j = 0; j <= n; j++) buffer[j] = Math.min(j, k + 1);
+
+    for (int i = 1; i <= m; i++) {
+      int from = Math.max(1, i - k), to = Math.min(n, i + k);
+      int diagonal = buffer[from - 1];
+      int left = from == 1 ? Math.min(i, k + 1) : k + 1;
+      int min = left;
+      char c = b.charAt(i - 1);
+
+      buffer[from - 1] = left;
+      for (int j = from; j <= to; j++) {
+        int up = buffer[j];
+        int cost = c != a.charAt(j - 1) ? 1 : 0;
+        buffer[j] = Math.min(k + 1, Math.min(up + 1, Math.min(left + 1, diagonal + cost)));
+        left = buffer[j];
+        diagonal = up;
+        min = Math.min(min, left);
+      }
+
+      if (min > k) return k + 1;
+    }
+
+    return buffer[n];
+  }
 }
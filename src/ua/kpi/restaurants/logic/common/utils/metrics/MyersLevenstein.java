@@ -0,0 +1,262 @@
+package ua.kpi.restaurants.logic.common.utils.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Implements <a href="https://en.wikipedia.org/wiki/Levenshtein_distance">Levenstein distance</a> metric
+ * using bit-parallel algorithm of Myers (in the form described by Hyyr&ouml;)
+ *
+ * A whole column of the dynamic programming table is encoded by two 64-bit vertical delta vectors,
+ * so the shorter word must contain at most 64 characters. Longer words are handled by {@link Levenstein}.
+ *
+ * Bit masks of the shorter word are kept in a per-thread table, so no memory is allocated per call.
+ * A batch comparison builds the masks of the query once and reuses them for every candidate.
+ * Words packed into character arrays are compared in place (see {@link SliceMetric}).
+ *
+ * @see Metric
+ * @see BoundedMetric
+ * @see BatchMetric
+ * @see SliceMetric
+ */
+public final class MyersLevenstein implements BatchMetric<String>, SliceMetric {
+  private static final long serialVersionUID = 4127683307413938361L;
+
+  /** The longest word (in characters) handled by the bit-parallel algorithm */
+  public static final int MAX_LENGTH = Long.SIZE;
+
+  private static final Levenstein FALLBACK = new Levenstein();
+  private static final ThreadLocal<Masks> MASKS = ThreadLocal.withInitial(Masks::new);
+
+  /**
+   * Open addressing table of character bit masks.
+   * Stamps allow to reuse the table without clearing it.
+   */
+  private static final class Masks {
+    private static final int CAPACITY = 2 * MAX_LENGTH;
+
+    private final char[] keys = new char[CAPACITY];
+    private final long[] masks = new long[CAPACITY];
+    private final int[] stamps = new int[CAPACITY];
+    private int stamp = 0;
+
+    private void load(String pattern) {
+      reset();
+      for (int i = 0; i < pattern.length(); i++) {
+        put(pattern.charAt(i), i);
+      }
+    }
+
+    private void load(char[] pattern, int from, int to) {
+      reset();
+      for (int i = from; i < to; i++) {
+        put(pattern[i], i - from);
+      }
+    }
+
+    private void reset() {
+      if (++stamp == 0) {
+        Arrays.fill(stamps, 0);
+        stamp = 1;
+      }
+    }
+
+    private void put(char c, int i) {
+      int slot = c & (CAPACITY - 1);
+      while (stamps[slot] == stamp && keys[slot] != c) {
+        slot = (slot + 1) & (CAPACITY - 1);
+      }
+
+      if (stamps[slot] != stamp) {
+        stamps[slot] = stamp;
+        keys[slot] = c;
+        masks[slot] = 0;
+      }
+
+      masks[slot] |= 1L << i;
+    }
+
+    private long get(char c) {
+      int slot = c & (CAPACITY - 1);
+      while (stamps[slot] == stamp) {
+        if (keys[slot] == c) return masks[slot];
+        slot = (slot + 1) & (CAPACITY - 1);
+      }
+
+      return 0;
+    }
+  }
+
+  /**
+   * Performs similarity retrieval
+   *
+   * Its time complexity is {@code O(n)} if the shorter word has at most {@link #MAX_LENGTH} characters
+   * and {@code O(m * n)} otherwise where {@code m} and {@code n} are sizes of two words respectively
+   *
+   * @param a first word (must not be {@code null})
+   * @param b second word (must not be {@code null})
+   * @return retrieved similarity
+   */
+  @Override
+  public int applyAsInt(@NotNull String a, @NotNull String b) {
+    return apply(a, b, Integer.MAX_VALUE - 1);
+  }
+
+  /**
+   * Performs bounded similarity retrieval
+   *
+   * Computation stops as soon as the distance can not get below {@code maxDistance}
+   * on the rest of the longer word.
+   *
+   * @param a first word (must not be {@code null})
+   * @param b second word (must not be {@code null})
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @return retrieved similarity if it is not greater than {@code maxDistance}, {@code maxDistance + 1} otherwise
+   */
+  @Override
+  public int apply(@NotNull String a, @NotNull String b, int maxDistance) {
+    String pattern = a.length() <= b.length() ? a : b;
+    String text = pattern == a ? b : a;
+    int m = pattern.length(), n = text.length(), k = maxDistance;
+
+    if (n - m > k) return k + 1;
+    if (m == 0) return n;
+    if (m > MAX_LENGTH) return FALLBACK.apply(a, b, k);
+
+    Masks masks = MASKS.get();
+    masks.load(pattern);
+    return distance(masks, m, text, k);
+  }
+
+  /**
+   * Performs bounded similarity retrieval between the query and every candidate
+   *
+   * Bit masks of the query are built once and reused for all candidates, so every comparison costs
+   * {@code O(n)} where {@code n} is the size of the candidate. A query longer than {@link #MAX_LENGTH}
+   * is compared with every candidate by {@link #apply(String, String, int)}.
+   *
+   * @param query - word to compute distances to (must not be {@code null})
+   * @param words - words to select candidates from (must not be {@code null})
+   * @param ids - positions of candidates in {@code words} (must not be {@code null})
+   * @param count - number of candidates (the first {@code count} elements of {@code ids} are used)
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @param distances - array to write retrieved similarities to (must not be {@code null})
+   */
+  @Override
+  public void apply(@NotNull String query, @NotNull String[] words, @NotNull int[] ids, int count, int maxDistance,
+                    @NotNull int[] distances) {
+    int m = query.length(), k = maxDistance;
+    if (m == 0 || m > MAX_LENGTH) {
+      for (int i = 0; i < count; i++) {
+        distances[i] = apply(query, words[ids[i]], k);
+      }
+
+      return;
+    }
+
+    Masks masks = MASKS.get();
+    masks.load(query);
+
+    for (int i = 0; i < count; i++) {
+      String text = words[ids[i]];
+      distances[i] = Math.abs(text.length() - m) > k ? k + 1 : distance(masks, m, text, k);
+    }
+  }
+
+  /**
+   * Performs bounded similarity retrieval between ranges of character arrays
+   *
+   * It has the same complexity and result as {@link #apply(String, String, int)}.
+   *
+   * @param a array that holds the first word (must not be {@code null})
+   * @param aFrom - index of the first character of the first word
+   * @param aTo - index after the last character of the first word
+   * @param b array that holds the second word (must not be {@code null})
+   * @param bFrom - index of the first character of the second word
+   * @param bTo - index after the last character of the second word
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @return retrieved similarity if it is not greater than {@code maxDistance}, {@code maxDistance + 1} otherwise
+   */
+  @Override
+  public int apply(@NotNull char[] a, int aFrom, int aTo, @NotNull char[] b, int bFrom, int bTo, int maxDistance) {
+    if (aTo - aFrom > bTo - bFrom) return apply(b, bFrom, bTo, a, aFrom, aTo, maxDistance);
+
+    int m = aTo - aFrom, n = bTo - bFrom, k = maxDistance;
+
+    if (n - m > k) return k + 1;
+    if (m == 0) return n;
+    if (m > MAX_LENGTH) {
+      return FALLBACK.apply(new String(a, aFrom, m), new String(b, bFrom, n), k);
+    }
+
+    Masks masks = MASKS.get();
+    masks.load(a, aFrom, aTo);
+    return distance(masks, m, b, bFrom, bTo, k);
+  }
+
+  /*
+   * Pattern of length m (1 <= m <= MAX_LENGTH) must be loaded into masks. The text may be of any length,
+   * since the score of the last row can decrease by at most one per remaining column.
+   */
+  private static int distance(Masks masks, int m, String text, int k) {
+    int n = text.length();
+    long pv = m == MAX_LENGTH ? -1L : (1L << m) - 1, mv = 0;
+    long last = 1L << (m - 1);
+    int score = m;
+
+    for (int j = 0; j < n; j++) {
+      long eq = masks.get(text.charAt(j));
+      long xv = eq | mv;
+      long xh = (((eq & pv) + pv) ^ pv) | eq;
+      long ph = mv | ~(xh | pv);
+      long mh = pv & xh;
+
+      if ((ph & last) != 0) {
+        score++;
+      } else if ((mh & last) != 0) {
+        score--;
+      }
+
+      if (score - (n - j - 1) > k) return k + 1;
+
+      ph = (ph << 1) | 1;
+      mh <<= 1;
+      pv = mh | ~(xv | ph);
+      mv = ph & xv;
+    }
+
+    return Math.min(score, k + 1);
+  }
+
+  /* Same as above for the text stored in text[from, to) */
+  private static int distance(Masks masks, int m, char[] text, int from, int to, int k) {
+    int n = to - from;
+    long pv = m == MAX_LENGTH ? -1L : (1L << m) - 1, mv = 0;
+    long last = 1L << (m - 1);
+    int score = m;
+
+    for (int j = 0; j < n; j++) {
+      long eq = masks.get(text[from + j]);
+      long xv = eq | mv;
+      long xh = (((eq & pv) + pv) ^ pv) | eq;
+      long ph = mv | ~(xh | pv);
+      long mh = pv & xh;
+
+      if ((ph & last) != 0) {
+        score++;
+      } else if ((mh & last) != 0) {
+        score--;
+      }
+
+      if (score - (n - j - 1) > k) return k + 1;
+
+      ph = (ph << 1) | 1;
+      mh <<= 1;
+      pv = mh | ~(xv | ph);
+      mv = ph & xv;
+    }
+
+    return Math.min(score, k + 1);
+  }
+}
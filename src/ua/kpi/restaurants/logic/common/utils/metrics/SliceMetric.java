@@ -0,0 +1,55 @@
+package ua.kpi.restaurants.logic.common.utils.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Describes a bounded string metric that can compare ranges of character arrays
+ *
+ * It allows to compute distances between words packed into a shared array (see
+ * {@link ua.kpi.restaurants.logic.common.algorithms.TermStore}) without creating a {@link String} per word
+ *
+ * @see BoundedMetric
+ */
+public interface SliceMetric extends BoundedMetric<String> {
+  /**
+   * Performs bounded distance retrieval between {@code a[aFrom, aTo)} and {@code b[bFrom, bTo)}
+   *
+   * @param a array that holds the first word (must not be {@code null})
+   * @param aFrom - index of the first character of the first word
+   * @param aTo - index after the last character of the first word
+   * @param b array that holds the second word (must not be {@code null})
+   * @param bFrom - index of the first character of the second word
+   * @param bTo - index after the last character of the second word
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @return the exact distance if it is not greater than {@code maxDistance}, some value greater than
+   * {@code maxDistance} otherwise
+   */
+  int apply(@NotNull char[] a, int aFrom, int aTo, @NotNull char[] b, int bFrom, int bTo, int maxDistance);
+
+  /**
+   * Performs bounded distance retrieval between ranges of character arrays for an arbitrary metric
+   *
+   * It uses {@link #apply(char[], int, int, char[], int, int, int)} if {@code metric} is a {@code SliceMetric}
+   * and copies both ranges to {@link String}s otherwise
+   *
+   * @param metric to compute distance with (must not be {@code null})
+   * @param a array that holds the first word (must not be {@code null})
+   * @param aFrom - index of the first character of the first word
+   * @param aTo - index after the last character of the first word
+   * @param b array that holds the second word (must not be {@code null})
+   * @param bFrom - index of the first character of the second word
+   * @param bTo - index after the last character of the second word
+   * @param maxDistance - the largest distance of interest (must be {@code >= 0})
+   * @return the exact distance if it is not greater than {@code maxDistance}, some value greater than
+   * {@code maxDistance} otherwise
+   */
+  static int apply(@NotNull IntMetric<String> metric, @NotNull char[] a, int aFrom, int aTo,
+                   @NotNull char[] b, int bFrom, int bTo, int maxDistance) {
+    if (metric instanceof SliceMetric) {
+      return ((SliceMetric) metric).apply(a, aFrom, aTo, b, bFrom, bTo, maxDistance);
+    }
+
+    return BoundedMetric.apply(metric, new String(a, aFrom, aTo - aFrom), new String(b, bFrom, bTo - bFrom),
+        maxDistance);
+  }
+}
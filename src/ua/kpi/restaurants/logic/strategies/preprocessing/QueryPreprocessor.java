@@ -4,20 +4,18 @@ import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.NotNull;
 import ua.kpi.restaurants.logic.strategies.preprocessing.routines.Denoiser;
 
-import java.util.ArrayDeque;
-import java.util.Arrays;
 import java.util.NoSuchElementException;
-import java.util.Queue;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 /**
  * Preprocessor used throughout the application.
  *
  * It was designed to simulate the following pipeline:
  * <ol>
- *   <li>query is divided by words using defined {@code delimiters}</li>
- *   <li>word is selected that is not noise and is not filtered out</li>
+ *   <li>query is divided by words using defined {@code delimiters} (lazily, by {@link QueryTokenizer})</li>
+ *   <li>word is selected that is not noise (checked in place in the query) and is not filtered out</li>
  *   <li>selected word is stemmed</li>
  *   <li>selected word is checked for correct spell checking and corrected if needed</li>
  * </ol>
@@ -29,23 +27,27 @@ import java.util.function.Predicate;
  * @see ua.kpi.restaurants.logic.strategies.preprocessing.routines.SpellingCorrector
  */
 public final class QueryPreprocessor implements Preprocessor {
-  /** Default delimiters */
+  /** Default delimiters (recognized by {@link QueryTokenizer} without regular expressions) */
   @Language("RegExp")
   public static final String DELIMITERS = "(\\s|\\p{Punct}|[«»№])+";
 
+  private final Denoiser denoiser;
   private final Predicate<String> predicate;
   private final Function<? super String, String> mapper;
-  private final Queue<String> queue;
+  private final Tokenizer tokenizer;
+  private String word;
 
   private QueryPreprocessor(
-      String delimiters,
+      Pattern delimiters,
+      Denoiser denoiser,
       Predicate<String> predicate,
       Function<? super String, String> mapper,
       String query
   ) {
+    this.denoiser = denoiser;
     this.predicate = predicate;
     this.mapper = mapper;
-    this.queue = new ArrayDeque<>(Arrays.asList(query.split(delimiters)));
+    this.tokenizer = new QueryTokenizer(query, delimiters);
   }
 
   /**
@@ -55,11 +57,16 @@ public final class QueryPreprocessor implements Preprocessor {
    */
   @Override
   public boolean hasNext() {
-    while (!queue.isEmpty() && !predicate.test(queue.peek())) {
-      queue.poll();
+    while (word == null && tokenizer.advance()) {
+      if (denoiser.isNoise(tokenizer.text(), tokenizer.start(), tokenizer.end())) continue;
+
+      String token = tokenizer.token();
+      if (predicate.test(token)) {
+        word = token;
+      }
     }
 
-    return !queue.isEmpty();
+    return word != null;
   }
 
   /**
@@ -74,7 +81,9 @@ public final class QueryPreprocessor implements Preprocessor {
       throw new NoSuchElementException("Preprocessor has no elements.");
     }
 
-    return mapper.apply(queue.poll());
+    String result = word;
+    word = null;
+    return mapper.apply(result);
   }
 
   /**
@@ -85,7 +94,7 @@ public final class QueryPreprocessor implements Preprocessor {
    * In the case when some of the options are not set this class uses noop equivalent.
    */
   public static final class Builder implements Preprocessor.Builder {
-    private String delimiters = DELIMITERS;
+    private Pattern delimiters = null;
     private Function<? super String, String> spellingCorrector = Function.identity();
     private Function<? super String, String> stemmer = Function.identity();
     private Predicate<String> predicate = word -> true;
@@ -94,11 +103,14 @@ public final class QueryPreprocessor implements Preprocessor {
     /**
      * Allows to set delimiters {@link String} to split the {@code query} by.
      *
-     * @param delimiters to be set
+     * The pattern is compiled once here. {@link #DELIMITERS} are recognized without regular expressions.
+     *
+     * @param delimiters to be set (regular expression)
      * @return this instance
+     * @throws java.util.regex.PatternSyntaxException if delimiters is not a valid regular expression
      */
-    public Builder setDelimiters(@NotNull String delimiters) {
-      this.delimiters = delimiters;
+    public Builder setDelimiters(@NotNull @Language("RegExp") String delimiters) {
+      this.delimiters = DELIMITERS.equals(delimiters) ? null : Pattern.compile(delimiters);
       return this;
     }
 
@@ -155,10 +167,8 @@ public final class QueryPreprocessor implements Preprocessor {
     @NotNull
     @Override
     public Preprocessor build(@NotNull String query) {
-      Predicate<String> noise = denoiser::isNoise;
-      Predicate<String> filter = noise.negate().and(predicate);
       Function<? super String, String> mapper = stemmer.andThen(spellingCorrector);
-      return new QueryPreprocessor(delimiters, filter, mapper, query);
+      return new QueryPreprocessor(delimiters, denoiser, predicate, mapper, query);
     }
   }
 }
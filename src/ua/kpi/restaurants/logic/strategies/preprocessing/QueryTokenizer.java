@@ -0,0 +1,139 @@
+package ua.kpi.restaurants.logic.strategies.preprocessing;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Default {@link Tokenizer} implementation used throughout the application.
+ *
+ * By default words are separated by the characters of {@link QueryPreprocessor#DELIMITERS}: whitespace,
+ * ASCII punctuation and {@code «»№}. They are recognized by a single pass over the text without regular
+ * expressions and without allocations. Custom delimiters are matched by their regular expression.
+ *
+ * Empty words (e.g. before the delimiters that start the text) are skipped.
+ */
+public final class QueryTokenizer implements Tokenizer {
+  private final CharSequence text;
+  private final Matcher matcher;
+  private int position = 0;
+  private int start = 0;
+  private int end = 0;
+
+  /**
+   * Constructs tokenizer that splits the text by the default delimiters.
+   *
+   * @param text - text to tokenize (must not be {@code null})
+   */
+  public QueryTokenizer(@NotNull CharSequence text) {
+    this(text, null);
+  }
+
+  /**
+   * Constructs tokenizer that splits the text by the delimiters.
+   *
+   * @param text - text to tokenize (must not be {@code null})
+   * @param delimiters - pattern of delimiters or {@code null} to use the default ones
+   */
+  public QueryTokenizer(@NotNull CharSequence text, @Nullable Pattern delimiters) {
+    this.text = text;
+    this.matcher = delimiters != null ? delimiters.matcher(text) : null;
+  }
+
+  /**
+   * Checks whether the character is one of the default delimiters.
+   *
+   * @param c - character to check
+   * @return {@code true} if the character is whitespace, ASCII punctuation or one of {@code «»№},
+   * {@code false} otherwise
+   */
+  public static boolean isDelimiter(char c) {
+    if (c < 128) {
+      return c == ' ' || (c >= '\t' && c <= '\r')
+          || (c >= '!' && c <= '/') || (c >= ':' && c <= '@') || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+    }
+
+    return c == '«' || c == '»' || c == '№';
+  }
+
+  /**
+   * Moves to the next word of the text.
+   *
+   * @return {@code true} if the next word is found, {@code false} if no more words left
+   * @see Tokenizer#advance()
+   */
+  @Override
+  public boolean advance() {
+    return matcher != null ? advanceMatcher() : advanceDefault();
+  }
+
+  private boolean advanceDefault() {
+    int length = text.length();
+    int i = position;
+
+    while (i < length && isDelimiter(text.charAt(i))) {
+      i++;
+    }
+
+    start = i;
+    while (i < length && !isDelimiter(text.charAt(i))) {
+      i++;
+    }
+
+    end = position = i;
+    return start < end;
+  }
+
+  /* Matcher continues the search from the end of the previous delimiter */
+  private boolean advanceMatcher() {
+    int length = text.length();
+
+    while (position < length) {
+      start = position;
+      if (matcher.find()) {
+        end = matcher.start();
+        position = matcher.end();
+      } else {
+        end = position = length;
+      }
+
+      if (start < end) return true;
+    }
+
+    start = end = length;
+    return false;
+  }
+
+  /**
+   * Getter for the text
+   *
+   * @return the text being tokenized
+   */
+  @NotNull
+  @Override
+  public CharSequence text() {
+    return text;
+  }
+
+  /**
+   * Getter for the start of the current word
+   *
+   * @return index of the first character of the current word
+   */
+  @Override
+  public int start() {
+    return start;
+  }
+
+  /**
+   * Getter for the end of the current word
+   *
+   * @return index following the last character of the current word
+   */
+  @Override
+  public int end() {
+    return end;
+  }
+}
@@ -0,0 +1,58 @@
+package ua.kpi.restaurants.logic.strategies.preprocessing;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Base interface for tokenizers that divide a text into words.
+ *
+ * Tokenizer does not copy the text: it moves from one word to another and reports the bounds of the current word,
+ * so a caller may inspect the word in place and create a {@link String} only for the words it keeps.
+ *
+ * Typical usage:
+ * <pre>{@code
+ * while (tokenizer.advance()) {
+ *   String word = tokenizer.token();
+ * }
+ * }</pre>
+ *
+ * @see QueryTokenizer
+ */
+public interface Tokenizer {
+  /**
+   * Moves to the next word of the text.
+   *
+   * @return {@code true} if the next word is found, {@code false} if no more words left
+   */
+  boolean advance();
+
+  /**
+   * Retrieves the text being tokenized.
+   *
+   * @return the whole text
+   */
+  @NotNull CharSequence text();
+
+  /**
+   * Retrieves index of the first character of the current word.
+   *
+   * @return start of the current word (inclusive)
+   */
+  int start();
+
+  /**
+   * Retrieves index following the last character of the current word.
+   *
+   * @return end of the current word (exclusive)
+   */
+  int end();
+
+  /**
+   * Copies the current word to a {@link String}.
+   *
+   * @return the current word
+   */
+  @NotNull
+  default String token() {
+    return text().subSequence(start(), end()).toString();
+  }
+}
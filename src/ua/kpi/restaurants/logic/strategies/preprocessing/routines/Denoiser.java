@@ -20,6 +20,11 @@ public interface Denoiser extends UnaryOperator<List<String>> {
       return false;
     }
 
+    @Override
+    public boolean isNoise(@NotNull CharSequence text, int start, int end) {
+      return false;
+    }
+
     @NotNull
     @Override
     public Stream<String> asStream(@NotNull List<String> query) {
@@ -41,6 +46,21 @@ public interface Denoiser extends UnaryOperator<List<String>> {
    */
   boolean isNoise(@NotNull String word);
 
+  /**
+   * Indicates whether the word that occupies {@code text[start, end)} is noise or not.
+   *
+   * It lets a tokenizer check words in place and create strings only for the words that are not noise.
+   * Default implementation copies the word, implementations are encouraged to avoid it.
+   *
+   * @param text - text containing the word (must not be {@code null})
+   * @param start - index of the first character of the word
+   * @param end - index following the last character of the word
+   * @return {@code true} if word is a noise, {@code false} otherwise
+   */
+  default boolean isNoise(@NotNull CharSequence text, int start, int end) {
+    return isNoise(text.subSequence(start, end).toString());
+  }
+
   /**
    * Applies denoising algorithm to the list of words removing noise from it.
    *
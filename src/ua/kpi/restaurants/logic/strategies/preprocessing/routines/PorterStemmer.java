@@ -0,0 +1,213 @@
+package ua.kpi.restaurants.logic.strategies.preprocessing.routines;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.UnaryOperator;
+
+/*
+ * Porter stemming algorithm (http://snowball.tartarus.org/algorithms/porter/stemmer.html)
+ * in the version of org.tartarus.snowball.ext.PorterStemmer shipped with Lucene 3.0.2.
+ *
+ * Every 'y' that starts the word or follows a vowel is a consonant and is marked as 'Y' while the word is stemmed.
+ * R1 is the region after the first non-vowel following a vowel, R2 is R1 of R1. Stateless, thus thread-safe.
+ */
+final class PorterStemmer implements UnaryOperator<String> {
+  private static final Suffixes STEP_1A = new Suffixes(
+      new String[]{"sses"},
+      new String[]{"ies"},
+      new String[]{"ss"},
+      new String[]{"s"}
+  );
+  private static final String[] STEP_1A_REPLACEMENTS = {"ss", "i", "ss", ""};
+
+  private static final int EED = 0;
+
+  private static final Suffixes STEP_1B = new Suffixes(
+      new String[]{"eed"},
+      new String[]{"ed", "ing"}
+  );
+
+  private static final int ADD_E = 0;
+  private static final int UNDOUBLE = 1;
+  private static final int SHORT = 2;
+
+  private static final Suffixes STEP_1B_ENDINGS = new Suffixes(
+      new String[]{"at", "bl", "iz"},
+      new String[]{"bb", "dd", "ff", "gg", "mm", "nn", "pp", "rr", "tt"},
+      new String[]{""}
+  );
+
+  private static final Suffixes STEP_2 = new Suffixes(
+      new String[]{"tional"},
+      new String[]{"enci"},
+      new String[]{"anci"},
+      new String[]{"abli"},
+      new String[]{"entli"},
+      new String[]{"eli"},
+      new String[]{"izer", "ization"},
+      new String[]{"ational", "ation", "ator"},
+      new String[]{"alli", "alism", "aliti"},
+      new String[]{"fulness"},
+      new String[]{"ousli", "ousness"},
+      new String[]{"iveness", "iviti"},
+      new String[]{"biliti"}
+  );
+  private static final String[] STEP_2_REPLACEMENTS = {
+      "tion", "ence", "ance", "able", "ent", "e", "ize", "ate", "al", "ful", "ous", "ive", "ble"
+  };
+
+  private static final Suffixes STEP_3 = new Suffixes(
+      new String[]{"alize"},
+      new String[]{"icate", "iciti", "ical"},
+      new String[]{"ative", "ful", "ness"}
+  );
+  private static final String[] STEP_3_REPLACEMENTS = {"al", "ic", ""};
+
+  private static final int ION = 1;
+
+  private static final Suffixes STEP_4 = new Suffixes(
+      new String[]{"al", "ance", "ence", "er", "ic", "able", "ible", "ant", "ement", "ment", "ent", "ou", "ism", "ate",
+          "iti", "ous", "ive", "ize"},
+      new String[]{"ion"}
+  );
+
+  private static boolean isVowel(char c) {
+    return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u' || c == 'y';
+  }
+
+  /* Checks whether the word ends with a short syllable before the position */
+  private static boolean isShort(CharSequence word, int position) {
+    if (position < 3) return false;
+
+    char last = word.charAt(position - 1);
+    return !isVowel(last) && last != 'w' && last != 'x' && last != 'Y'
+        && isVowel(word.charAt(position - 2)) && !isVowel(word.charAt(position - 3));
+  }
+
+  private static boolean containsVowel(CharSequence word, int end) {
+    for (int i = 0; i < end; i++) {
+      if (isVowel(word.charAt(i))) return true;
+    }
+
+    return false;
+  }
+
+  /* Position after the first non-vowel following a vowel starting from the position or the length of the word */
+  private static int region(CharSequence word, int position) {
+    int length = word.length();
+    int i = position;
+
+    while (i < length && !isVowel(word.charAt(i))) i++;
+    while (i < length && isVowel(word.charAt(i))) i++;
+    return Math.min(i + 1, length);
+  }
+
+  private static void replace(StringBuilder word, int start, String replacement) {
+    word.setLength(start);
+    word.append(replacement);
+  }
+
+  @NotNull
+  @Override
+  public String apply(@NotNull String word) {
+    StringBuilder stem = new StringBuilder(word.length() + 1).append(word);
+    boolean marked = false;
+
+    for (int i = 0; i < stem.length(); i++) {
+      if (stem.charAt(i) == 'y' && (i == 0 || isVowel(stem.charAt(i - 1)))) {
+        stem.setCharAt(i, 'Y');
+        marked = true;
+      }
+    }
+
+    int r1 = region(stem, 0);
+    int r2 = region(stem, r1);
+
+    step1(stem, r1);
+    replaceIn(stem, STEP_2, STEP_2_REPLACEMENTS, r1);
+    replaceIn(stem, STEP_3, STEP_3_REPLACEMENTS, r1);
+    step4(stem, r2);
+    step5(stem, r1, r2);
+
+    if (marked) {
+      for (int i = 0; i < stem.length(); i++) {
+        if (stem.charAt(i) == 'Y') {
+          stem.setCharAt(i, 'y');
+        }
+      }
+    }
+
+    return stem.toString();
+  }
+
+  private static void step1(StringBuilder stem, int r1) {
+    int entry = STEP_1A.find(stem, stem.length(), 0);
+    if (entry >= 0) {
+      replace(stem, stem.length() - STEP_1A.length(entry), STEP_1A_REPLACEMENTS[STEP_1A.group(entry)]);
+    }
+
+    entry = STEP_1B.find(stem, stem.length(), 0);
+    if (entry >= 0) {
+      int start = stem.length() - STEP_1B.length(entry);
+      if (STEP_1B.group(entry) == EED) {
+        if (start >= r1) {
+          replace(stem, start, "ee");
+        }
+      } else if (containsVowel(stem, start)) {
+        stem.setLength(start);
+
+        entry = STEP_1B_ENDINGS.find(stem, start, 0);
+        switch (STEP_1B_ENDINGS.group(entry)) {
+          case ADD_E:
+            stem.append('e');
+            break;
+          case UNDOUBLE:
+            stem.setLength(start - 1);
+            break;
+          case SHORT:
+            if (start == r1 && isShort(stem, start)) {
+              stem.append('e');
+            }
+            break;
+        }
+      }
+    }
+
+    int last = stem.length() - 1;
+    if (last >= 0 && (stem.charAt(last) == 'y' || stem.charAt(last) == 'Y') && containsVowel(stem, last)) {
+      stem.setCharAt(last, 'i');
+    }
+  }
+
+  private static void replaceIn(StringBuilder stem, Suffixes suffixes, String[] replacements, int r1) {
+    int entry = suffixes.find(stem, stem.length(), 0);
+    if (entry >= 0 && stem.length() - suffixes.length(entry) >= r1) {
+      replace(stem, stem.length() - suffixes.length(entry), replacements[suffixes.group(entry)]);
+    }
+  }
+
+  private static void step4(StringBuilder stem, int r2) {
+    int entry = STEP_4.find(stem, stem.length(), 0);
+    if (entry < 0) return;
+
+    int start = stem.length() - STEP_4.length(entry);
+    if (start < r2) return;
+
+    if (STEP_4.group(entry) == ION && (start == 0 || (stem.charAt(start - 1) != 's' && stem.charAt(start - 1) != 't'))) {
+      return;
+    }
+
+    stem.setLength(start);
+  }
+
+  private static void step5(StringBuilder stem, int r1, int r2) {
+    int last = stem.length() - 1;
+    if (last >= 0 && stem.charAt(last) == 'e' && (last >= r2 || (last >= r1 && !isShort(stem, last)))) {
+      stem.setLength(last--);
+    }
+
+    if (last >= r2 && stem.charAt(last) == 'l' && last > 0 && stem.charAt(last - 1) == 'l') {
+      stem.setLength(last);
+    }
+  }
+}
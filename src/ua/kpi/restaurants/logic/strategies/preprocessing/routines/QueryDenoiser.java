@@ -1,6 +1,7 @@
 package ua.kpi.restaurants.logic.strategies.preprocessing.routines;
 
 import org.jetbrains.annotations.NotNull;
+import ua.kpi.restaurants.logic.common.algorithms.CharTrie;
 
 import java.util.List;
 import java.util.Set;
@@ -10,21 +11,24 @@ import java.util.stream.Stream;
 /**
  * Default {@link Denoiser} implementation used throughout the application.
  *
- * It is aimed at lazy evaluation of the algorithm. It maintains a {@link Set} of noise words
- * which is typically initialized from {@link ua.kpi.restaurants.data.DataBase#getStopWords()}.
+ * It is aimed at lazy evaluation of the algorithm. It is initialized from a {@link Set} of noise words
+ * (typically {@link ua.kpi.restaurants.data.DataBase#getStopWords()}) which is packed into a {@link CharTrie},
+ * so words can be checked in place in the query without creating strings.
  *
  * @see ua.kpi.restaurants.data.DataBase
  */
 public final class QueryDenoiser implements Denoiser {
-  private final Set<String> stopWords;
+  private final CharTrie stopWords;
 
   /**
    * Constructs denoiser from the {@link Set} of noise words.
    *
+   * The words are copied, later changes of the set do not affect this denoiser.
+   *
    * @param stopWords {@link Set} of noise words (must not be {@code null})
    */
   public QueryDenoiser(@NotNull Set<String> stopWords) {
-    this.stopWords = stopWords;
+    this.stopWords = new CharTrie(stopWords);
   }
 
   /**
@@ -39,6 +43,20 @@ public final class QueryDenoiser implements Denoiser {
     return stopWords.contains(word);
   }
 
+  /**
+   * Checks whether the word that occupies {@code text[start, end)} is a noise without copying it.
+   *
+   * @param text - text containing the word (must not be {@code null})
+   * @param start - index of the first character of the word
+   * @param end - index following the last character of the word
+   * @return {@code true} if word is a noise, {@code false} otherwise
+   * @see Denoiser#isNoise(CharSequence, int, int)
+   */
+  @Override
+  public boolean isNoise(@NotNull CharSequence text, int start, int end) {
+    return stopWords.contains(text, start, end);
+  }
+
   /**
    * Produces a {@link Stream} instance for the lazy evaluation of the algorithm.
    *
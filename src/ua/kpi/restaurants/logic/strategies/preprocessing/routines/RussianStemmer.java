@@ -0,0 +1,162 @@
+package ua.kpi.restaurants.logic.strategies.preprocessing.routines;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.UnaryOperator;
+
+/*
+ * Snowball Russian stemming algorithm (http://snowball.tartarus.org/algorithms/russian/stemmer.html)
+ * in the version of org.tartarus.snowball.ext.RussianStemmer shipped with Lucene 3.0.2.
+ *
+ * The algorithm only removes endings, so the stem is a prefix of the word: every step moves the end of the stem.
+ * Endings are removed inside RV - the region after the first vowel. Stateless, thus thread-safe.
+ */
+final class RussianStemmer implements UnaryOperator<String> {
+  /* Endings of the second group are removed only if they follow 'а' or 'я' */
+  private static final int PRECEDED = 1;
+
+  private static final Suffixes PERFECTIVE_GERUND = new Suffixes(
+      new String[]{"ив", "ивши", "ившись", "ыв", "ывши", "ывшись"},
+      new String[]{"в", "вши", "вшись"}
+  );
+
+  private static final Suffixes ADJECTIVE = new Suffixes(
+      new String[]{"ее", "ие", "ые", "ое", "ими", "ыми", "ей", "ий", "ый", "ой", "ем", "им", "ым", "ом", "его", "ого",
+          "ему", "ому", "их", "ых", "ую", "юю", "ая", "яя", "ою", "ею"}
+  );
+
+  private static final Suffixes PARTICIPLE = new Suffixes(
+      new String[]{"ивш", "ывш", "ующ"},
+      new String[]{"ем", "нн", "вш", "ющ", "щ"}
+  );
+
+  private static final Suffixes REFLEXIVE = new Suffixes(
+      new String[]{"ся", "сь"}
+  );
+
+  private static final Suffixes VERB = new Suffixes(
+      new String[]{"ила", "ыла", "ена", "ейте", "уйте", "ите", "или", "ыли", "ей", "уй", "ил", "ыл", "им", "ым", "ен",
+          "ило", "ыло", "ено", "ят", "ует", "уют", "ит", "ыт", "ены", "ить", "ыть", "ишь", "ую", "ю"},
+      new String[]{"ла", "на", "ете", "йте", "ли", "й", "л", "ем", "н", "ло", "но", "ет", "ют", "ны", "ть", "ешь", "нно"}
+  );
+
+  private static final Suffixes NOUN = new Suffixes(
+      new String[]{"а", "ев", "ов", "ие", "ье", "е", "иями", "ями", "ами", "еи", "ии", "и", "ией", "ей", "ой", "ий", "й",
+          "иям", "ям", "ием", "ем", "ам", "ом", "о", "у", "ах", "иях", "ях", "ы", "ь", "ию", "ью", "ю", "ия", "ья", "я"}
+  );
+
+  private static final Suffixes DERIVATIONAL = new Suffixes(
+      new String[]{"ост", "ость"}
+  );
+
+  private static final int SUPERLATIVE = 0;
+  private static final int DOUBLE_N = 1;
+  private static final int SOFT_SIGN = 2;
+
+  private static final Suffixes TIDY_UP = new Suffixes(
+      new String[]{"ейш", "ейше"},
+      new String[]{"н"},
+      new String[]{"ь"}
+  );
+
+  private static boolean isVowel(char c) {
+    switch (c) {
+      case 'а': case 'е': case 'и': case 'о': case 'у': case 'ы': case 'э': case 'ю': case 'я':
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean endsWith(String word, int end, int limit, char c) {
+    return end > limit && word.charAt(end - 1) == c;
+  }
+
+  /* Retrieves the start of the removed ending or -1 if there is no ending to remove */
+  private static int removeEnding(Suffixes suffixes, String word, int end, int rv) {
+    int entry = suffixes.find(word, end, rv);
+    if (entry < 0) return -1;
+
+    int start = end - suffixes.length(entry);
+    if (suffixes.group(entry) == PRECEDED && !endsWith(word, start, rv, 'а') && !endsWith(word, start, rv, 'я')) {
+      return -1;
+    }
+
+    return start;
+  }
+
+  @NotNull
+  @Override
+  public String apply(@NotNull String word) {
+    int length = word.length();
+    int rv = length;
+    int r2 = length;
+
+    int i = 0;
+    while (i < length && !isVowel(word.charAt(i))) i++;
+    if (i < length) {
+      rv = ++i;
+      while (i < length && isVowel(word.charAt(i))) i++;
+      while (++i < length && !isVowel(word.charAt(i))) ;
+      while (++i < length && isVowel(word.charAt(i))) ;
+      if (i < length) {
+        r2 = i + 1;
+      }
+    }
+
+    int end = length;
+
+    int start = removeEnding(PERFECTIVE_GERUND, word, end, rv);
+    if (start >= 0) {
+      end = start;
+    } else {
+      start = removeEnding(REFLEXIVE, word, end, rv);
+      if (start >= 0) {
+        end = start;
+      }
+
+      start = removeEnding(ADJECTIVE, word, end, rv);
+      if (start >= 0) {
+        end = start;
+        start = removeEnding(PARTICIPLE, word, end, rv);
+        if (start >= 0) {
+          end = start;
+        }
+      } else if ((start = removeEnding(VERB, word, end, rv)) >= 0 || (start = removeEnding(NOUN, word, end, rv)) >= 0) {
+        end = start;
+      }
+    }
+
+    if (endsWith(word, end, rv, 'и')) {
+      end--;
+    }
+
+    int entry = DERIVATIONAL.find(word, end, rv);
+    if (entry >= 0 && end - DERIVATIONAL.length(entry) >= r2) {
+      end -= DERIVATIONAL.length(entry);
+    }
+
+    entry = TIDY_UP.find(word, end, rv);
+    if (entry >= 0) {
+      start = end - TIDY_UP.length(entry);
+      switch (TIDY_UP.group(entry)) {
+        case SUPERLATIVE:
+          end = start;
+          if (endsWith(word, end, rv, 'н') && endsWith(word, end - 1, rv, 'н')) {
+            end--;
+          }
+          break;
+        case DOUBLE_N:
+          if (endsWith(word, start, rv, 'н')) {
+            end = start;
+          }
+          break;
+        case SOFT_SIGN:
+          end = start;
+          break;
+      }
+    }
+
+    return word.substring(0, end);
+  }
+}
@@ -3,7 +3,10 @@ package ua.kpi.restaurants.logic.strategies.preprocessing.routines;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ua.kpi.restaurants.logic.common.algorithms.SimilaritySet;
+import ua.kpi.restaurants.logic.common.utils.ConcurrentCache;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.UnaryOperator;
 
@@ -14,15 +17,29 @@ import java.util.function.UnaryOperator;
  * It checks whether given word is in the first set. If it is not, it tries to correct it.
  * If the word is a noise, it ignores it.
  *
+ * Results for words that are not in the first set (corrections, noise and words without similar ones)
+ * are kept in a bounded {@link ConcurrentCache}, so repeated misspellings are looked up only once.
+ *
+ * A precomputed table of corrections (e.g. built from the query log by
+ * {@link ua.kpi.restaurants.cli.CorrectionsCommand}) may be given. It is consulted before the cache,
+ * so words found there never reach the {@link SimilaritySet}.
  */
 public final class SpellingCorrector implements UnaryOperator<String> {
+  /** Default maximal number of cached corrections */
+  public static final int DEFAULT_CACHE_SIZE = 10000;
+
   private final Set<String> correctWords;
   private final Denoiser denoiser;
   private final SimilaritySet<String> similarities;
+  private final ConcurrentCache<String, String> cache;
+  private final Map<String, String> corrections;
 
   /**
    * Constructs routine from the given information
    *
+   * Delegates the task to {@link #SpellingCorrector(Set, Denoiser, SimilaritySet, int)}
+   * with {@link #DEFAULT_CACHE_SIZE} as the cache size.
+   *
    * @param correctWords - {@link Set} of correct words
    * @param denoiser - {@link Denoiser} instance
    * @param similarities - {@link SimilaritySet} of correct words
@@ -31,10 +48,60 @@ public final class SpellingCorrector implements UnaryOperator<String> {
       @NotNull Set<String> correctWords,
       @NotNull Denoiser denoiser,
       @NotNull SimilaritySet<String> similarities
+  ) {
+    this(correctWords, denoiser, similarities, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Constructs routine from the given information
+   *
+   * @param correctWords - {@link Set} of correct words
+   * @param denoiser - {@link Denoiser} instance
+   * @param similarities - {@link SimilaritySet} of correct words
+   * @param cacheSize - maximal number of cached corrections ({@code 0} disables caching)
+   * @throws IllegalArgumentException if cacheSize < 0
+   */
+  public SpellingCorrector(
+      @NotNull Set<String> correctWords,
+      @NotNull Denoiser denoiser,
+      @NotNull SimilaritySet<String> similarities,
+      int cacheSize
+  ) {
+    this(correctWords, denoiser, similarities, cacheSize, Collections.emptyMap());
+  }
+
+  /**
+   * Constructs routine from the given information
+   *
+   * @param correctWords - {@link Set} of correct words
+   * @param denoiser - {@link Denoiser} instance
+   * @param similarities - {@link SimilaritySet} of correct words
+   * @param cacheSize - maximal number of cached corrections ({@code 0} disables caching)
+   * @param corrections - precomputed corrections of misspelled words (must not be modified afterwards)
+   * @throws IllegalArgumentException if cacheSize < 0
+   */
+  public SpellingCorrector(
+      @NotNull Set<String> correctWords,
+      @NotNull Denoiser denoiser,
+      @NotNull SimilaritySet<String> similarities,
+      int cacheSize,
+      @NotNull Map<String, String> corrections
   ) {
     this.correctWords = correctWords;
     this.denoiser = denoiser;
     this.similarities = similarities;
+    this.cache = new ConcurrentCache<>(cacheSize);
+    this.corrections = corrections;
+  }
+
+  /**
+   * Provides access to the cache of corrections (e.g. to monitor its hits and misses).
+   *
+   * @return cache of corrections
+   */
+  @NotNull
+  public ConcurrentCache<String, String> getCache() {
+    return cache;
   }
 
   /**
@@ -55,12 +122,17 @@ public final class SpellingCorrector implements UnaryOperator<String> {
    */
   @Override
   public @NotNull String apply(@NotNull String word) {
-    if (!correctWords.contains(word) && !denoiser.isNoise(word)) {
-      word = similarities.getSimilarTo(word).stream()
-          .min(SimilaritySet.Entry.comparingBySimilarity())
-          .map(SimilaritySet.Entry::getElement).orElse("");
-    }
+    if (correctWords.contains(word)) return word;
+
+    String correction = corrections.get(word);
+    return correction != null ? correction : cache.get(word, this::correct);
+  }
+
+  private String correct(String word) {
+    if (denoiser.isNoise(word)) return word;
 
-    return word;
+    return similarities.getMostSimilar(word, 1).stream()
+        .map(SimilaritySet.Entry::getElement)
+        .findFirst().orElse("");
   }
 }
@@ -0,0 +1,65 @@
+package ua.kpi.restaurants.logic.strategies.preprocessing.routines;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ua.kpi.restaurants.logic.common.algorithms.TermStore;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable dictionary of precomputed stems.
+ *
+ * Words are packed into a {@link TermStore} and stems are kept by word ids. Equal stems of different words
+ * share a single {@link String}, so lookups do not allocate.
+ *
+ * It is typically built from the words of the data set while {@link ua.kpi.restaurants.data.DataBase} is
+ * initialized and is consulted by {@link Stemmer} before running the stemming algorithm.
+ */
+public final class StemDictionary implements Serializable {
+  private static final long serialVersionUID = -3125728441290135527L;
+
+  /** Dictionary without words */
+  public static final StemDictionary EMPTY = new StemDictionary(Collections.emptyMap());
+
+  private final TermStore words;
+  private final String[] stems;
+
+  /**
+   * Constructs dictionary from mappings of words to their stems.
+   *
+   * @param stems - mappings from words to stems (must not be {@code null})
+   */
+  public StemDictionary(@NotNull Map<String, String> stems) {
+    Map<String, String> distinct = new HashMap<>();
+
+    this.words = new TermStore(stems.keySet());
+    this.stems = new String[words.size()];
+    for (Map.Entry<String, String> entry : stems.entrySet()) {
+      this.stems[words.indexOf(entry.getKey())] = distinct.computeIfAbsent(entry.getValue(), stem -> stem);
+    }
+  }
+
+  /**
+   * Retrieves precomputed stem of the word.
+   *
+   * @param word - word to look for (must not be {@code null})
+   * @return stem of the word or {@code null} if the word is not in this dictionary
+   */
+  @Nullable
+  public String get(@NotNull CharSequence word) {
+    int id = words.indexOf(word);
+    return id < 0 ? null : stems[id];
+  }
+
+  /**
+   * Retrieves number of words in this dictionary.
+   *
+   * @return size of this dictionary
+   */
+  public int size() {
+    return stems.length;
+  }
+}
@@ -1,9 +1,7 @@
 package ua.kpi.restaurants.logic.strategies.preprocessing.routines;
 
 import org.jetbrains.annotations.NotNull;
-import org.tartarus.snowball.SnowballProgram;
-import org.tartarus.snowball.ext.PorterStemmer;
-import org.tartarus.snowball.ext.RussianStemmer;
+import ua.kpi.restaurants.logic.common.utils.ConcurrentCache;
 
 import java.util.function.UnaryOperator;
 
@@ -13,18 +11,60 @@ import java.util.function.UnaryOperator;
  * It uses <a hreaf="https://lucene.apache.org/core/4_1_0/analyzers-common/org/tartarus/snowball/ext/PorterStemmer.html">Porter Stemmer</a>
  * algorithm for English
  * and <a href="https://lucene.apache.org/core/4_1_0/analyzers-common/org/tartarus/snowball/ext/RussianStemmer.html">Russian Stemmer</a> for Russian.
+ *
+ * Both algorithms are implemented natively and produce the same stems as the Snowball programs of Lucene 3.0.2
+ * ({@code org.tartarus.snowball.ext}) without their reflective dispatch. They keep no state between calls,
+ * so stemmer can be shared between threads.
+ * Stems are kept in a bounded {@link ConcurrentCache}, so stems of frequent words are computed only once.
+ * A stemmer with a differently sized cache is created by {@link #withCache(int)}.
+ *
+ * A {@link StemDictionary} of precomputed stems (e.g. {@link ua.kpi.restaurants.data.DataBase#getStems()}) may be
+ * set by {@link #withDictionary(StemDictionary)}. It is consulted first, so the cache and the algorithm are used
+ * only for the words missing from the dictionary.
  */
 public final class Stemmer implements UnaryOperator<String> {
+  /** Default maximal number of cached stems */
+  public static final int DEFAULT_CACHE_SIZE = 10000;
+
   /** English stemmer */
-  public static final Stemmer ENGLISH = new Stemmer(new PorterStemmer());
+  public static final Stemmer ENGLISH = new Stemmer(new PorterStemmer(), StemDictionary.EMPTY,
+      new ConcurrentCache<>(DEFAULT_CACHE_SIZE));
 
   /** Russian stemmer */
-  public static final Stemmer RUSSIAN = new Stemmer(new RussianStemmer());
+  public static final Stemmer RUSSIAN = new Stemmer(new RussianStemmer(), StemDictionary.EMPTY,
+      new ConcurrentCache<>(DEFAULT_CACHE_SIZE));
 
-  private final SnowballProgram stemmer;
+  private final UnaryOperator<String> algorithm;
+  private final StemDictionary dictionary;
+  private final ConcurrentCache<String, String> cache;
 
-  private Stemmer(SnowballProgram stemmer) {
-    this.stemmer = stemmer;
+  private Stemmer(UnaryOperator<String> algorithm, StemDictionary dictionary, ConcurrentCache<String, String> cache) {
+    this.algorithm = algorithm;
+    this.dictionary = dictionary;
+    this.cache = cache;
+  }
+
+  /**
+   * Creates stemmer of the same language with its own cache.
+   *
+   * @param cacheSize - maximal number of cached stems ({@code 0} disables caching)
+   * @return created stemmer
+   * @throws IllegalArgumentException if cacheSize < 0
+   */
+  @NotNull
+  public Stemmer withCache(int cacheSize) {
+    return new Stemmer(algorithm, dictionary, new ConcurrentCache<>(cacheSize));
+  }
+
+  /**
+   * Creates stemmer of the same language that consults the dictionary first. The cache is shared with this stemmer.
+   *
+   * @param dictionary - precomputed stems of the same language (must not be {@code null})
+   * @return created stemmer
+   */
+  @NotNull
+  public Stemmer withDictionary(@NotNull StemDictionary dictionary) {
+    return new Stemmer(algorithm, dictionary, cache);
   }
 
   /**
@@ -36,8 +76,17 @@ public final class Stemmer implements UnaryOperator<String> {
   @NotNull
   @Override
   public String apply(@NotNull String word) {
-    stemmer.setCurrent(word);
-    stemmer.stem();
-    return stemmer.getCurrent();
+    String stem = dictionary.get(word);
+    return stem != null ? stem : cache.get(word, algorithm);
+  }
+
+  /**
+   * Provides access to the cache of stems (e.g. to monitor its hits and misses).
+   *
+   * @return cache of stems
+   */
+  @NotNull
+  public ConcurrentCache<String, String> getCache() {
+    return cache;
   }
 }
@@ -0,0 +1,94 @@
+package ua.kpi.restaurants.logic.strategies.preprocessing.routines;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+ * Table of suffixes searched by the longest match (the backward "among" of Snowball).
+ *
+ * Suffixes are given in groups, the index of the group tells the stemmer what to do with the found suffix.
+ * If the longest suffix found does not satisfy the conditions of the stemmer, shorter ones are not tried.
+ *
+ * Suffixes are bucketed by the low bits of their last character, so a lookup compares only a few of them.
+ */
+final class Suffixes {
+  private static final int BUCKETS = 64;
+
+  private final char[][] suffixes;
+  private final int[] groups;
+  private final int[][] buckets = new int[BUCKETS][];
+  private final int empty;
+
+  Suffixes(String[]... groups) {
+    List<String> suffixes = new ArrayList<>();
+    List<Integer> indices = new ArrayList<>();
+    for (int i = 0; i < groups.length; i++) {
+      for (String suffix : groups[i]) {
+        suffixes.add(suffix);
+        indices.add(i);
+      }
+    }
+
+    Integer[] order = new Integer[suffixes.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+
+    Arrays.sort(order, Comparator.comparingInt(i -> -suffixes.get(i).length()));
+
+    this.suffixes = new char[order.length][];
+    this.groups = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      this.suffixes[i] = suffixes.get(order[i]).toCharArray();
+      this.groups[i] = indices.get(order[i]);
+    }
+
+    for (int b = 0; b < BUCKETS; b++) {
+      List<Integer> bucket = new ArrayList<>();
+      for (int i = 0; i < order.length; i++) {
+        char[] suffix = this.suffixes[i];
+        if (suffix.length > 0 && (suffix[suffix.length - 1] & (BUCKETS - 1)) == b) {
+          bucket.add(i);
+        }
+      }
+
+      buckets[b] = bucket.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    int last = order.length - 1;
+    this.empty = last >= 0 && this.suffixes[last].length == 0 ? last : -1;
+  }
+
+  /*
+   * Finds the longest suffix of word[0, end) that starts not before the limit.
+   * Returns index of the found entry, the empty suffix if it is in the table, or -1.
+   */
+  int find(CharSequence word, int end, int limit) {
+    if (end <= limit) return empty;
+
+    for (int i : buckets[word.charAt(end - 1) & (BUCKETS - 1)]) {
+      char[] suffix = suffixes[i];
+      int start = end - suffix.length;
+      if (start < limit) continue;
+
+      int j = suffix.length - 1;
+      while (j >= 0 && word.charAt(start + j) == suffix[j]) {
+        j--;
+      }
+
+      if (j < 0) return i;
+    }
+
+    return empty;
+  }
+
+  int length(int entry) {
+    return suffixes[entry].length;
+  }
+
+  int group(int entry) {
+    return groups[entry];
+  }
+}
@@ -0,0 +1,234 @@
+package ua.kpi.restaurants.test;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ua.kpi.restaurants.logic.common.algorithms.BKTreeSet;
+import ua.kpi.restaurants.logic.common.algorithms.LevensteinAutomatonSet;
+import ua.kpi.restaurants.logic.common.algorithms.PartitionedSimilaritySet;
+import ua.kpi.restaurants.logic.common.algorithms.SimilaritySet;
+import ua.kpi.restaurants.logic.common.algorithms.TrigramSet;
+import ua.kpi.restaurants.logic.common.algorithms.VPTreeSet;
+import ua.kpi.restaurants.logic.common.utils.ConcurrentCache;
+import ua.kpi.restaurants.logic.common.utils.metrics.BoundedMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.IntMetric;
+import ua.kpi.restaurants.logic.strategies.preprocessing.routines.SpellingCorrector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Simple benchmark of similarity search data structures
+ *
+ * Every data structure is built from the given vocabulary and is used to find the best correction
+ * for every word of the workload. Workload is either given or consists of misspelled vocabulary words,
+ * produced by one or two random edits (insertion, deletion or substitution of a character).
+ *
+ * Build time, average query time and average number of metric evaluations per query are reported.
+ * Cached structures start every pass over the workload with an empty cache, so repeated words are the only hits;
+ * hit and miss counts of the measured pass are reported for them.
+ */
+public final class Benchmark {
+  private static final int WARM_UP_ROUNDS = 2;
+
+  private Benchmark() {}
+
+  private static final class CountingMetric implements BoundedMetric<String> {
+    private static final long serialVersionUID = -1453880232318520361L;
+
+    private final IntMetric<String> metric;
+    private final AtomicLong count = new AtomicLong();
+
+    private CountingMetric(IntMetric<String> metric) {
+      this.metric = metric;
+    }
+
+    @Override
+    public int applyAsInt(@NotNull String a, @NotNull String b) {
+      count.incrementAndGet();
+      return metric.applyAsInt(a, b);
+    }
+
+    @Override
+    public int apply(@NotNull String a, @NotNull String b, int maxDistance) {
+      count.incrementAndGet();
+      return BoundedMetric.apply(metric, a, b, maxDistance);
+    }
+  }
+
+  private static final class Subject {
+    private final Function<IntMetric<String>, SimilaritySet<String>> factory;
+    private final BiFunction<SimilaritySet<String>, String, String> corrector;
+    private final boolean cached;
+
+    private Subject(
+        Function<IntMetric<String>, SimilaritySet<String>> factory,
+        BiFunction<SimilaritySet<String>, String, String> corrector
+    ) {
+      this(factory, corrector, false);
+    }
+
+    private Subject(
+        Function<IntMetric<String>, SimilaritySet<String>> factory,
+        BiFunction<SimilaritySet<String>, String, String> corrector,
+        boolean cached
+    ) {
+      this.factory = factory;
+      this.corrector = corrector;
+      this.cached = cached;
+    }
+  }
+
+  /* Corrects every word of the workload, through a new cache if the subject is cached, and returns the cache */
+  @Nullable
+  private static ConcurrentCache<String, String> run(
+      Subject subject, SimilaritySet<String> set, List<String> workload
+  ) {
+    if (!subject.cached) {
+      workload.forEach(word -> subject.corrector.apply(set, word));
+      return null;
+    }
+
+    ConcurrentCache<String, String> cache = new ConcurrentCache<>(SpellingCorrector.DEFAULT_CACHE_SIZE);
+    workload.forEach(word -> cache.get(word, w -> subject.corrector.apply(set, w)));
+    return cache;
+  }
+
+  private static String bestOf(SimilaritySet<String> set, String word) {
+    return set.getSimilarTo(word).stream()
+        .min(SimilaritySet.Entry.comparingBySimilarity())
+        .map(SimilaritySet.Entry::getElement).orElse("");
+  }
+
+  private static String mostSimilar(SimilaritySet<String> set, String word) {
+    return set.getMostSimilar(word, 1).stream()
+        .map(SimilaritySet.Entry::getElement)
+        .findFirst().orElse("");
+  }
+
+  private static List<String> misspell(List<String> words, int count, long seed) {
+    Random random = new Random(seed);
+    StringBuilder alphabet = new StringBuilder();
+    new TreeSet<>(words).forEach(word -> word.chars().forEach(c -> {
+      if (alphabet.indexOf(String.valueOf((char) c)) < 0) alphabet.append((char) c);
+    }));
+
+    List<String> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      StringBuilder word = new StringBuilder(words.get(random.nextInt(words.size())));
+      for (int edits = 1 + random.nextInt(2); edits > 0; edits--) {
+        int position = 1 + random.nextInt(word.length()); // first character is left intact
+        char c = alphabet.charAt(random.nextInt(alphabet.length()));
+
+        switch (random.nextInt(3)) {
+          case 0:
+            word.insert(position, c);
+            break;
+          case 1:
+            if (position < word.length()) word.deleteCharAt(position);
+            break;
+          default:
+            if (position < word.length()) word.setCharAt(position, c);
+        }
+      }
+
+      result.add(word.toString());
+    }
+
+    return result;
+  }
+
+  /**
+   * Executes benchmark on a generated workload
+   *
+   * Delegates the task to {@link #execute(Collection, IntMetric, List)}.
+   *
+   * @param vocabulary - words to build data structures from (must not be {@code null})
+   * @param metric - metric to build data structures on (must not be {@code null})
+   * @param queries - number of misspelled words to correct
+   * @param seed - seed of the misspelled words generator
+   */
+  public static void execute(
+      @NotNull Collection<String> vocabulary, @NotNull IntMetric<String> metric, int queries, long seed
+  ) {
+    execute(vocabulary, metric, misspell(new ArrayList<>(new TreeSet<>(vocabulary)), queries, seed));
+  }
+
+  /**
+   * Executes benchmark
+   *
+   * Data structures that do not use the metric report no metric calls.
+   *
+   * @param vocabulary - words to build data structures from (must not be {@code null})
+   * @param metric - metric to build data structures on (must not be {@code null})
+   * @param workload - words to correct (must not be {@code null})
+   */
+  public static void execute(
+      @NotNull Collection<String> vocabulary, @NotNull IntMetric<String> metric, @NotNull List<String> workload
+  ) {
+    List<String> words = new ArrayList<>(new TreeSet<>(vocabulary));
+
+    Map<String, Subject> subjects = new LinkedHashMap<>();
+    subjects.put("BKTreeSet", new Subject(m -> {
+      BKTreeSet tree = new BKTreeSet(m);
+      tree.addAll(words);
+      return tree;
+    }, Benchmark::bestOf));
+    subjects.put("BKTreeSet (top-1)", new Subject(subjects.get("BKTreeSet").factory, Benchmark::mostSimilar));
+    subjects.put("BKTreeSet.build", new Subject(m -> BKTreeSet.build(words, m), Benchmark::bestOf));
+    subjects.put("BKTreeSet.build (top-1)", new Subject(subjects.get("BKTreeSet.build").factory, Benchmark::mostSimilar));
+    subjects.put("TrigramSet", new Subject(m -> new TrigramSet(words, m), Benchmark::bestOf));
+    subjects.put("LevensteinAutomatonSet", new Subject(m -> new LevensteinAutomatonSet(words), Benchmark::bestOf));
+    subjects.put("BKTreeSet.build (t = 3)", new Subject(m -> BKTreeSet.build(words, m, 3), Benchmark::bestOf));
+    subjects.put("TrigramSet (t = 3)", new Subject(m -> new TrigramSet(words, m, 3), Benchmark::bestOf));
+    subjects.put("LevensteinAutomatonSet (t = 3)", new Subject(m -> new LevensteinAutomatonSet(words, 3),
+        Benchmark::bestOf));
+    subjects.put("VPTreeSet (top-1)", new Subject(m -> new VPTreeSet(words, m), Benchmark::mostSimilar));
+    subjects.put("Partitioned", new Subject(m -> new PartitionedSimilaritySet(words, partition -> {
+      BKTreeSet tree = new BKTreeSet(m);
+      tree.addAll(partition);
+      return tree;
+    }), Benchmark::bestOf));
+    subjects.put("Partitioned (top-1)", new Subject(subjects.get("Partitioned").factory, Benchmark::mostSimilar));
+    subjects.put("Partitioned (top-1, cached)", new Subject(subjects.get("Partitioned").factory,
+        Benchmark::mostSimilar, true));
+
+    System.out.printf("Vocabulary: %d words, workload: %d words%n", words.size(), workload.size());
+    System.out.printf("%-32s %12s %16s %16s%n", "Structure", "Build (ms)", "Query (us/op)", "Metric (calls/op)");
+
+    subjects.forEach((name, subject) -> {
+      CountingMetric counting = new CountingMetric(metric);
+
+      long start = System.nanoTime();
+      SimilaritySet<String> set = subject.factory.apply(counting);
+      long build = System.nanoTime() - start;
+
+      for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+        run(subject, set, workload);
+      }
+
+      counting.count.set(0);
+      start = System.nanoTime();
+      ConcurrentCache<String, String> cache = run(subject, set, workload);
+      long query = System.nanoTime() - start;
+
+      System.out.printf("%-32s %12.1f %16.2f %16.1f%n", name, build / 1e6,
+          query / 1e3 / workload.size(), (double) counting.count.get() / workload.size());
+      if (cache != null) {
+        System.out.printf("%-32s %d hits, %d misses%n", "", cache.getHitCount(), cache.getMissCount());
+      }
+    });
+
+    BKTreeSet inserted = new BKTreeSet(metric);
+    inserted.addAll(vocabulary);
+    System.out.printf("%nBKTreeSet: %s%n", inserted.getStatistics());
+    System.out.printf("BKTreeSet.build: %s%n", BKTreeSet.build(vocabulary, metric).getStatistics());
+  }
+}
@@ -10,19 +10,27 @@ import ua.kpi.restaurants.logic.common.exceptions.ProjectRuntimeException;
 import ua.kpi.restaurants.logic.common.utils.metrics.Levenstein;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.runners.Parameterized.Parameters;
 
 /**
  *  The {@code BKTreeContainsTest} represents test class.
- *  It tests {@link BKTreeSet} {@code contains} method.
+ *  It tests {@link BKTreeSet} {@code contains} method and its consistency with removals, compaction and snapshots.
  */
 @RunWith(Parameterized.class)
 public class BKTreeSetContainsTest {
+  private static final Levenstein METRIC = new Levenstein();
   private static BKTreeSet tree;
   private final static Set<String> WORDS;
 
@@ -50,7 +58,7 @@ public class BKTreeSetContainsTest {
    */
   @BeforeClass
   public static void load() {
-    tree = new BKTreeSet(new Levenstein());
+    tree = new BKTreeSet(METRIC);
     tree.addAll(WORDS);
   }
 
@@ -74,4 +82,89 @@ public class BKTreeSetContainsTest {
   public void testBKTreeSet() {
     assertTrue(tree.contains(word));
   }
+
+  /**
+   * Tests {@link BKTreeSet} {@code remove} method and that snapshots are not affected by removals and additions.
+   */
+  @Test
+  public void testRemove() {
+    BKTreeSet copy = tree.snapshot();
+
+    assertTrue(copy.remove(word));
+    assertFalse(copy.contains(word));
+    assertTrue(copy.getSimilarTo(word).stream().noneMatch(entry -> entry.getElement().equals(word)));
+    assertEquals(WORDS.size() - 1, copy.size());
+    assertEquals(1, copy.getTombstones());
+    assertTrue(tree.contains(word));
+
+    assertTrue(copy.add(word));
+    assertTrue(copy.contains(word));
+    assertEquals(0, copy.getTombstones());
+    assertEquals(WORDS, new HashSet<>(copy));
+    assertEquals(WORDS.size(), tree.size());
+  }
+
+  /**
+   * Tests that {@link BKTreeSet} is compacted as soon as tombstones outnumber the words
+   * and that contents and {@code getSimilarTo} results of the compacted tree match the brute force ones.
+   */
+  @Test
+  public void testCompact() {
+    List<String> doomed = WORDS.stream()
+        .filter(w -> !w.equals(word))
+        .sorted()
+        .collect(Collectors.toList());
+    Set<String> expected = new HashSet<>(WORDS);
+    BKTreeSet copy = tree.snapshot();
+
+    int removed = 0;
+    for (String w : doomed) {
+      assertTrue(copy.remove(w));
+      expected.remove(w);
+      removed++;
+
+      if (removed > expected.size()) break;
+      assertEquals(removed, copy.getTombstones());
+    }
+
+    assertEquals(0, copy.getTombstones());
+    assertEquals(expected, new HashSet<>(copy));
+    assertEquals(expected.size(), copy.size());
+    assertTrue(copy.contains(word));
+    assertFalse(copy.contains(doomed.get(0)));
+
+    for (String query : Arrays.asList(word, doomed.get(0))) {
+      Map<String, Double> actual = new HashMap<>();
+      copy.getSimilarTo(query).forEach(entry -> actual.put(entry.getElement(), entry.getSimilarity()));
+
+      Map<String, Double> brute = new HashMap<>();
+      for (String w : expected) {
+        int dist = METRIC.apply(w, query);
+        if (w.charAt(0) == query.charAt(0) && dist <= BKTreeSet.DEFAULT_THRESHOLD) {
+          brute.put(w, (double) dist);
+        }
+      }
+
+      assertEquals(brute, actual);
+    }
+
+    assertEquals(WORDS.size(), tree.size());
+  }
+
+  /**
+   * Tests {@link BKTreeSet} {@code retainAll} method keeping the words with the first character of the test word.
+   */
+  @Test
+  public void testRetainAll() {
+    Set<String> expected = WORDS.stream()
+        .filter(w -> w.charAt(0) == word.charAt(0))
+        .collect(Collectors.toSet());
+    BKTreeSet copy = tree.snapshot();
+
+    copy.retainAll(expected);
+    assertEquals(expected, new HashSet<>(copy));
+    assertEquals(expected.size(), copy.size());
+    assertTrue(copy.contains(word));
+    assertEquals(WORDS.size(), tree.size());
+  }
 }
@@ -14,14 +14,17 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.runners.Parameterized.Parameters;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
 /**
  * The {@code BKTreeSetSimilarityTest} represents testing class.
- * It tests {@link BKTreeSet} {@code getSimilarTo} and {@code contains} methods.
+ * It tests {@link BKTreeSet} {@code getSimilarTo} and {@code contains} methods
+ * and that {@code build} does not depend on the parallelism of the pool.
  */
 @RunWith(Parameterized.class)
 public class BKTreeSetSimilarityTest {
@@ -29,6 +32,8 @@ public class BKTreeSetSimilarityTest {
   private static final Levenstein METRIC = new Levenstein();
   private static final Set<String> WORDS;
   private static BKTreeSet tree;
+  private static BKTreeSet single;
+  private static BKTreeSet parallel;
 
   private final String word;
 
@@ -50,12 +55,22 @@ public class BKTreeSetSimilarityTest {
   }
 
   /**
-   * Initializes {@link BKTreeSet} with {@code WORDS} from {@code TEST_FILE} file
+   * Initializes {@link BKTreeSet} instances with {@code WORDS}: one filled by additions
+   * and two built on pools of parallelism 1 and 4
    */
   @BeforeClass
   public static void load() {
     tree = new BKTreeSet(new Levenstein());
     tree.addAll(WORDS);
+
+    ForkJoinPool one = new ForkJoinPool(1), four = new ForkJoinPool(4);
+    try {
+      single = BKTreeSet.build(WORDS, METRIC, BKTreeSet.DEFAULT_THRESHOLD, one);
+      parallel = BKTreeSet.build(WORDS, METRIC, BKTreeSet.DEFAULT_THRESHOLD, four);
+    } finally {
+      one.shutdown();
+      four.shutdown();
+    }
   }
 
   /**
@@ -94,4 +109,22 @@ public class BKTreeSetSimilarityTest {
           .forEach(e -> assertTrue(METRIC.apply(e, word) <= BKTreeSet.DEFAULT_THRESHOLD));
     }
   }
+
+  /**
+   * Tests that {@link BKTreeSet} {@code build} function constructs the same tree regardless of the parallelism
+   * of the pool: same iteration order, statistics and {@code getSimilarTo} pairs.
+   */
+  @Test
+  public void testBuildParallelism() {
+    assertEquals(new ArrayList<>(single), new ArrayList<>(parallel));
+    assertEquals(single.getStatistics().toString(), parallel.getStatistics().toString());
+
+    Map<String, Double> expected = new HashMap<>();
+    single.getSimilarTo(word).forEach(e -> expected.put(e.getElement(), e.getSimilarity()));
+
+    Map<String, Double> actual = new HashMap<>();
+    parallel.getSimilarTo(word).forEach(e -> actual.put(e.getElement(), e.getSimilarity()));
+
+    assertEquals(expected, actual);
+  }
 }
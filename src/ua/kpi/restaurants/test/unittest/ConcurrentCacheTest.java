@@ -0,0 +1,136 @@
+package ua.kpi.restaurants.test.unittest;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import ua.kpi.restaurants.logic.common.utils.ConcurrentCache;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The {@code ConcurrentCacheTest} represents testing class.
+ * It tests {@link ConcurrentCache} {@code get} method, its size bound, counters and admission policy.
+ */
+@RunWith(Parameterized.class)
+public final class ConcurrentCacheTest {
+  private static final int THREADS = 4;
+  private static final int REQUESTS = 20000;
+
+  private final int maximumSize;
+
+  /**
+   * Initializes test parameters.
+   *
+   * @param maximumSize maximal size of the tested cache
+   */
+  public ConcurrentCacheTest(int maximumSize) {
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Creates testing data.
+   *
+   * @return collection {@code Collection<Object[]>} of objects for testing
+   */
+  @NotNull
+  @Parameters
+  public static Collection<Object[]> data() {
+    Object[][] tests = {{0}, {1}, {17}, {256}, {10000}};
+    return Arrays.asList(tests);
+  }
+
+  private static String valueOf(String key) {
+    return key + "!";
+  }
+
+  /**
+   * Tests that {@link ConcurrentCache} {@code get} method retrieves computed values,
+   * keeps at most {@code maximumSize} entries and counts every request.
+   */
+  @Test
+  public void testGet() {
+    ConcurrentCache<String, String> cache = new ConcurrentCache<>(maximumSize);
+    Random random = new Random(maximumSize);
+
+    for (int i = 0; i < REQUESTS; i++) {
+      String key = String.valueOf(random.nextInt(2 * maximumSize + 50));
+      assertEquals(valueOf(key), cache.get(key, ConcurrentCacheTest::valueOf));
+    }
+
+    assertTrue(cache.size() <= maximumSize);
+    assertEquals(REQUESTS, cache.getHitCount() + cache.getMissCount());
+  }
+
+  /**
+   * Tests {@link ConcurrentCache} {@code get} method used by several threads at once.
+   *
+   * @throws Exception if any thread fails
+   */
+  @Test
+  public void testConcurrentGet() throws Exception {
+    ConcurrentCache<String, String> cache = new ConcurrentCache<>(maximumSize);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+
+    try {
+      for (int t = 0; t < THREADS; t++) {
+        Random random = new Random(t);
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < REQUESTS; i++) {
+            String key = String.valueOf(random.nextInt(2 * maximumSize + 50));
+            assertEquals(valueOf(key), cache.get(key, ConcurrentCacheTest::valueOf));
+          }
+        }));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    assertTrue(cache.size() <= maximumSize);
+    assertEquals(THREADS * REQUESTS, cache.getHitCount() + cache.getMissCount());
+  }
+
+  /**
+   * Tests that a scan of keys requested once does not evict keys requested often.
+   */
+  @Test
+  public void testFrequentKeysSurviveScan() {
+    if (maximumSize < 16) return;
+
+    ConcurrentCache<String, String> cache = new ConcurrentCache<>(maximumSize);
+    int hot = maximumSize / 2;
+
+    for (int round = 0; round < 5; round++) {
+      for (int i = 0; i < hot; i++) {
+        cache.get("hot" + i, ConcurrentCacheTest::valueOf);
+      }
+    }
+
+    for (int i = 0; i < 5 * maximumSize; i++) {
+      cache.get("cold" + i, ConcurrentCacheTest::valueOf);
+    }
+
+    int survived = 0;
+    for (int i = 0; i < hot; i++) {
+      if (cache.getIfPresent("hot" + i) != null) {
+        survived++;
+      }
+    }
+
+    assertTrue(survived >= hot * 9 / 10);
+  }
+}
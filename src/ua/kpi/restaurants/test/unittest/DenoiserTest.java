@@ -6,19 +6,23 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
+import ua.kpi.restaurants.logic.strategies.preprocessing.QueryTokenizer;
+import ua.kpi.restaurants.logic.strategies.preprocessing.Tokenizer;
 import ua.kpi.restaurants.logic.strategies.preprocessing.routines.Denoiser;
 import ua.kpi.restaurants.logic.strategies.preprocessing.routines.QueryDenoiser;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static ua.kpi.restaurants.logic.strategies.preprocessing.QueryPreprocessor.DELIMITERS;
 
 /**
  * The {@code DenoiserTest} represents testing class.
- * It tests {@link Denoiser} {@code apply} method.
+ * It tests {@link Denoiser} {@code apply} method and {@code isNoise} method for words inside the query.
  */
 @RunWith(Parameterized.class)
 public final class DenoiserTest {
@@ -81,4 +85,22 @@ public final class DenoiserTest {
     String s = TestHelper.join(denoiser.apply(Arrays.asList(actual.trim().toLowerCase().split(DELIMITERS))));
     assertEquals(expected, s);
   }
+
+  /**
+   * Tests {@link Denoiser} {@code isNoise} function for words checked in place in the query.
+   */
+  @Test
+  public void testDenoiserInPlace() {
+    String query = " " + actual.toLowerCase() + ".";
+    Tokenizer tokenizer = new QueryTokenizer(query);
+    List<String> words = new ArrayList<>();
+
+    while (tokenizer.advance()) {
+      if (!denoiser.isNoise(query, tokenizer.start(), tokenizer.end())) {
+        words.add(tokenizer.token());
+      }
+    }
+
+    assertEquals(expected, TestHelper.join(words));
+  }
 }
@@ -5,19 +5,24 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
+import ua.kpi.restaurants.logic.common.utils.metrics.BatchMetric;
+import ua.kpi.restaurants.logic.common.utils.metrics.BoundedMetric;
 import ua.kpi.restaurants.logic.common.utils.metrics.Levenstein;
 import ua.kpi.restaurants.logic.common.utils.metrics.Metric;
+import ua.kpi.restaurants.logic.common.utils.metrics.MyersLevenstein;
+import ua.kpi.restaurants.logic.common.utils.metrics.SliceMetric;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * The {@code LevensteinTest} represents test class.
- * It tests {@link Levenstein} {@code apply} method for correct
- * computing of Levenstein metric.
+ * It tests {@link Levenstein} and {@link MyersLevenstein} (single, batch and slice) {@code apply} methods
+ * for correct computing of Levenstein metric.
  */
 @RunWith(Parameterized.class)
 public final class LevensteinTest {
@@ -69,4 +74,88 @@ public final class LevensteinTest {
     Metric<String, ?> metric = new Levenstein();
     assertEquals(distance, metric.apply(a, b));
   }
+
+  /**
+   * Tests {@link Levenstein} bounded {@code apply} method for every bound up to {@code distance + 1}.
+   */
+  @Test
+  public void testBoundedLevensteinMetric() {
+    assertBounded(new Levenstein());
+  }
+
+  /**
+   * Tests {@link MyersLevenstein} {@code apply} method.
+   */
+  @Test
+  public void testMyersLevensteinMetric() {
+    Metric<String, ?> metric = new MyersLevenstein();
+    assertEquals(distance, metric.apply(a, b));
+    assertEquals(distance, metric.apply(b, a));
+  }
+
+  /**
+   * Tests {@link MyersLevenstein} bounded {@code apply} method for every bound up to {@code distance + 1}.
+   */
+  @Test
+  public void testBoundedMyersLevensteinMetric() {
+    assertBounded(new MyersLevenstein());
+  }
+
+  /**
+   * Tests {@link MyersLevenstein} batch {@code apply} method in both directions for every bound
+   * up to {@code distance + 1}.
+   */
+  @Test
+  public void testBatchMyersLevensteinMetric() {
+    BatchMetric<String> metric = new MyersLevenstein();
+    String[] words = {a, b};
+    int[] ids = {1, 0, 1};
+    int[] distances = new int[ids.length];
+
+    for (int bound = 0; bound <= distance + 1; bound++) {
+      metric.apply(a, words, ids, ids.length, bound, distances);
+      assertBatch(bound, distances[0], distances[2]);
+      assertEquals(0, distances[1]);
+
+      metric.apply(b, words, new int[]{0}, 1, bound, distances);
+      assertBatch(bound, distances[0]);
+    }
+  }
+
+  /**
+   * Tests {@link MyersLevenstein} {@code apply} method for words packed into a shared array
+   * for every bound up to {@code distance + 1}.
+   */
+  @Test
+  public void testSliceMyersLevensteinMetric() {
+    SliceMetric metric = new MyersLevenstein();
+    char[] arena = ("#" + a + "#" + b + "#").toCharArray();
+    int aFrom = 1, aTo = aFrom + a.length(), bFrom = aTo + 1, bTo = bFrom + b.length();
+
+    for (int bound = 0; bound <= distance + 1; bound++) {
+      assertBatch(bound, metric.apply(arena, aFrom, aTo, arena, bFrom, bTo, bound),
+          metric.apply(arena, bFrom, bTo, arena, aFrom, aTo, bound));
+    }
+  }
+
+  private void assertBatch(int bound, int... actual) {
+    for (int d : actual) {
+      if (distance <= bound) {
+        assertEquals(distance, d);
+      } else {
+        assertTrue(d > bound);
+      }
+    }
+  }
+
+  private void assertBounded(@NotNull BoundedMetric<String> metric) {
+    for (int bound = 0; bound <= distance + 1; bound++) {
+      int actual = metric.apply(a, b, bound);
+      if (distance <= bound) {
+        assertEquals(distance, actual);
+      } else {
+        assertTrue(actual > bound);
+      }
+    }
+  }
 }
@@ -0,0 +1,198 @@
+package ua.kpi.restaurants.test.unittest;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import ua.kpi.restaurants.logic.common.algorithms.BKTreeSet;
+import ua.kpi.restaurants.logic.common.algorithms.FlatBKTreeSet;
+import ua.kpi.restaurants.logic.common.algorithms.LevensteinAutomatonSet;
+import ua.kpi.restaurants.logic.common.algorithms.PartitionedSimilaritySet;
+import ua.kpi.restaurants.logic.common.algorithms.SimilarityBuffer;
+import ua.kpi.restaurants.logic.common.algorithms.SimilaritySet;
+import ua.kpi.restaurants.logic.common.algorithms.SymSpellSet;
+import ua.kpi.restaurants.logic.common.algorithms.TrigramSet;
+import ua.kpi.restaurants.logic.common.algorithms.VPTreeSet;
+import ua.kpi.restaurants.logic.common.exceptions.ProjectRuntimeException;
+import ua.kpi.restaurants.logic.common.utils.metrics.Levenstein;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.runners.Parameterized.Parameters;
+
+/**
+ * The {@code SimilaritySetTest} represents testing class.
+ * It tests {@code getSimilarTo}, {@code getMostSimilar} and {@code contains} methods of all {@link SimilaritySet} implementations
+ * against the brute force search over {@code WORDS}.
+ */
+@RunWith(Parameterized.class)
+public class SimilaritySetTest {
+  private static final String TEST_FILE = "resources/tests/similarity.csv";
+  private static final Levenstein METRIC = new Levenstein();
+  private static final int K = 3;
+  private static final Set<String> WORDS;
+  private static final Map<String, Function<Set<String>, SimilaritySet<String>>> IMPLEMENTATIONS = new LinkedHashMap<>();
+  private static final Map<String, SimilaritySet<String>> SETS = new HashMap<>();
+
+  private final String name;
+  private final String word;
+
+  static {
+    try {
+      WORDS = TestHelper.processStopWords(TestHelper.STOP_WORDS);
+    } catch (IOException e) {
+      throw new ProjectRuntimeException("Error while initializing test cases", e);
+    }
+
+    IMPLEMENTATIONS.put("BKTreeSet", words -> {
+      BKTreeSet tree = new BKTreeSet(METRIC);
+      tree.addAll(words);
+      return tree;
+    });
+    IMPLEMENTATIONS.put("BKTreeSet.build", words -> BKTreeSet.build(words, METRIC));
+    IMPLEMENTATIONS.put("FlatBKTreeSet", words -> new FlatBKTreeSet(words, METRIC));
+    IMPLEMENTATIONS.put("SymSpellSet", words -> new SymSpellSet(words, METRIC));
+    IMPLEMENTATIONS.put("VPTreeSet", words -> new VPTreeSet(words, METRIC));
+    IMPLEMENTATIONS.put("TrigramSet", words -> new TrigramSet(words, METRIC));
+    IMPLEMENTATIONS.put("LevensteinAutomatonSet", LevensteinAutomatonSet::new);
+    IMPLEMENTATIONS.put("PartitionedSimilaritySet", words -> new PartitionedSimilaritySet(words, partition -> {
+      BKTreeSet tree = new BKTreeSet(METRIC);
+      tree.addAll(partition);
+      return tree;
+    }));
+  }
+
+  /**
+   * Initializes test parameters.
+   *
+   * @param name name of the implementation under test
+   * @param word test word
+   */
+  public SimilaritySetTest(@NotNull String name, @NotNull String word) {
+    this.name = name;
+    this.word = word;
+  }
+
+  /**
+   * Initializes every implementation with {@code WORDS}
+   */
+  @BeforeClass
+  public static void load() {
+    IMPLEMENTATIONS.forEach((name, factory) -> SETS.put(name, factory.apply(WORDS)));
+  }
+
+  /**
+   * Loads the testing data from {@code TEST_FILE} file for every implementation.
+   *
+   * @return the collection {@code Collection<Object[]>} of objects for testing
+   * @throws FileNotFoundException if {@code TEST_FILE} file is missing
+   */
+  @NotNull
+  @Parameters(name = "{0}: {1}")
+  public static Collection<Object[]> data() throws FileNotFoundException {
+    List<Object[]> tests = new ArrayList<>();
+
+    try (Scanner scanner = new Scanner(new File(TEST_FILE))) {
+      while (scanner.hasNextLine()) {
+        String word = scanner.nextLine();
+        for (String name : IMPLEMENTATIONS.keySet()) {
+          tests.add(new Object[]{name, word});
+        }
+      }
+    }
+
+    return tests;
+  }
+
+  /**
+   * Tests {@code getSimilarTo} against the brute force search.
+   */
+  @Test
+  public void testGetSimilarTo() {
+    Map<String, Double> expected = new HashMap<>();
+    for (String e : WORDS) {
+      int dist = METRIC.apply(e, word);
+      if (e.charAt(0) == word.charAt(0) && dist <= BKTreeSet.DEFAULT_THRESHOLD) {
+        expected.put(e, (double) dist);
+      }
+    }
+
+    Map<String, Double> actual = new HashMap<>();
+    SETS.get(name).getSimilarTo(word).forEach(e -> actual.put(e.getElement(), e.getSimilarity()));
+    assertEquals(expected, actual);
+  }
+
+  /**
+   * Tests that {@code getSimilarTo} with a buffer retrieves the same pairs as {@code getSimilarTo}
+   * and that retrieved pairs are not affected by subsequent queries.
+   */
+  @Test
+  public void testGetSimilarToBuffer() {
+    SimilaritySet<String> set = SETS.get(name);
+    Set<SimilaritySet.Entry<String>> entries = set.getSimilarTo(word);
+    Map<String, Double> expected = new HashMap<>();
+    entries.forEach(e -> expected.put(e.getElement(), e.getSimilarity()));
+
+    SimilarityBuffer<String> buffer = new SimilarityBuffer<>(0);
+    set.getSimilarTo(word + word, buffer);
+    set.getSimilarTo(word, buffer);
+    set.getSimilarTo(word.substring(0, 1), new SimilarityBuffer<>());
+
+    Map<String, Double> actual = new HashMap<>();
+    for (int i = 0; i < buffer.size(); i++) {
+      actual.put(buffer.getElement(i), buffer.getSimilarity(i));
+    }
+
+    Map<String, Double> kept = new HashMap<>();
+    entries.forEach(e -> kept.put(e.getElement(), e.getSimilarity()));
+
+    assertEquals(expected.size(), buffer.size());
+    assertEquals(expected, actual);
+    assertEquals(expected, kept);
+  }
+
+  /**
+   * Tests {@code getMostSimilar} against the sorted brute force search.
+   *
+   * Order of words with equal similarities is not specified, so only similarities are compared in order.
+   */
+  @Test
+  public void testGetMostSimilar() {
+    Map<String, Integer> similar = new HashMap<>();
+    for (String e : WORDS) {
+      int dist = METRIC.apply(e, word);
+      if (e.charAt(0) == word.charAt(0) && dist <= BKTreeSet.DEFAULT_THRESHOLD) {
+        similar.put(e, dist);
+      }
+    }
+
+    List<Double> expected = new ArrayList<>();
+    similar.values().stream().sorted().limit(K).forEach(dist -> expected.add((double) dist));
+
+    List<Double> actual = new ArrayList<>();
+    for (SimilaritySet.Entry<String> e : SETS.get(name).getMostSimilar(word, K)) {
+      assertEquals(similar.get(e.getElement()), e.getSimilarity(), 0);
+      actual.add(e.getSimilarity());
+    }
+
+    assertEquals(expected, actual);
+  }
+
+  /**
+   * Tests {@code contains} for words from {@code WORDS}.
+   */
+  @Test
+  public void testContains() {
+    SimilaritySet<String> set = SETS.get(name);
+    assertEquals(WORDS.size(), set.size());
+    assertEquals(WORDS.contains(word), set.contains(word));
+    assertTrue(set.containsAll(WORDS));
+  }
+}
@@ -0,0 +1,167 @@
+package ua.kpi.restaurants.test.unittest;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.tartarus.snowball.SnowballProgram;
+import org.tartarus.snowball.ext.PorterStemmer;
+import org.tartarus.snowball.ext.RussianStemmer;
+import ua.kpi.restaurants.logic.strategies.preprocessing.QueryTokenizer;
+import ua.kpi.restaurants.logic.strategies.preprocessing.Tokenizer;
+import ua.kpi.restaurants.logic.strategies.preprocessing.routines.StemDictionary;
+import ua.kpi.restaurants.logic.strategies.preprocessing.routines.Stemmer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * The {@code StemmerTest} represents testing class.
+ * It tests that {@link Stemmer} produces the same stems as the Snowball programs of Lucene,
+ * that {@link Stemmer} shared by several threads produces the same stems as a single thread does
+ * and that {@link StemDictionary} does not change the stems.
+ */
+@RunWith(Parameterized.class)
+public final class StemmerTest {
+  private static final int THREADS = 4;
+  private static final int CACHE_SIZE = 1000;
+
+  private final Stemmer stemmer;
+  private final Supplier<SnowballProgram> snowball;
+  private final String filename;
+
+  /**
+   * Initializes test parameters.
+   *
+   * @param stemmer tested stemmer
+   * @param snowball Snowball program of the same language
+   * @param filename file to take words from
+   */
+  public StemmerTest(@NotNull Stemmer stemmer, @NotNull Supplier<SnowballProgram> snowball, @NotNull String filename) {
+    this.stemmer = stemmer;
+    this.snowball = snowball;
+    this.filename = filename;
+  }
+
+  /**
+   * Creates testing data.
+   *
+   * @return collection {@code Collection<Object[]>} of objects for testing
+   */
+  @NotNull
+  @Parameters
+  public static Collection<Object[]> data() {
+    Object[][] tests = {
+        {Stemmer.ENGLISH, (Supplier<SnowballProgram>) PorterStemmer::new, TestHelper.STOP_WORDS},
+        {Stemmer.RUSSIAN, (Supplier<SnowballProgram>) RussianStemmer::new, "resources/merged.csv"}
+    };
+
+    return Arrays.asList(tests);
+  }
+
+  private List<String> words() throws IOException {
+    String text = new String(Files.readAllBytes(Paths.get(filename)), StandardCharsets.UTF_8).toLowerCase();
+    List<String> words = new ArrayList<>();
+
+    Tokenizer tokenizer = new QueryTokenizer(text);
+    while (tokenizer.advance()) {
+      words.add(tokenizer.token());
+    }
+
+    return words;
+  }
+
+  /**
+   * Tests that {@link Stemmer} {@code apply} method produces the same stems as the Snowball program.
+   *
+   * @throws IOException if words can not be read
+   */
+  @Test
+  public void testSnowball() throws IOException {
+    Stemmer uncached = stemmer.withCache(0);
+    SnowballProgram program = snowball.get();
+
+    for (String word : new HashSet<>(words())) {
+      program.setCurrent(word);
+      program.stem();
+      assertEquals(word, program.getCurrent(), uncached.apply(word));
+    }
+  }
+
+  /**
+   * Tests {@link Stemmer} {@code apply} method used by several threads at once.
+   *
+   * @throws Exception if words can not be read or any thread fails
+   */
+  @Test
+  public void testConcurrentApply() throws Exception {
+    List<String> words = words();
+    Stemmer uncached = stemmer.withCache(0);
+    Map<String, String> expected = new HashMap<>();
+    for (String word : words) {
+      expected.computeIfAbsent(word, uncached);
+    }
+
+    Stemmer shared = stemmer.withCache(CACHE_SIZE);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+
+    try {
+      for (int t = 0; t < THREADS; t++) {
+        List<String> shuffled = new ArrayList<>(words);
+        Collections.shuffle(shuffled, new Random(t));
+        futures.add(executor.submit(() -> {
+          for (String word : shuffled) {
+            assertEquals(expected.get(word), shared.apply(word));
+          }
+        }));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    assertEquals((long) THREADS * words.size(), shared.getCache().getHitCount() + shared.getCache().getMissCount());
+  }
+
+  /**
+   * Tests {@link Stemmer} {@code apply} method with a {@link StemDictionary} of every other word.
+   *
+   * @throws IOException if words can not be read
+   */
+  @Test
+  public void testDictionary() throws IOException {
+    List<String> words = words();
+    Stemmer uncached = stemmer.withCache(0);
+    Map<String, String> stems = new HashMap<>();
+    for (int i = 0; i < words.size(); i += 2) {
+      stems.computeIfAbsent(words.get(i), uncached);
+    }
+
+    StemDictionary dictionary = new StemDictionary(stems);
+    Stemmer consulting = uncached.withDictionary(dictionary);
+    for (String word : words) {
+      assertEquals(uncached.apply(word), consulting.apply(word));
+      assertEquals(stems.get(word), dictionary.get(word));
+    }
+
+    assertEquals(stems.size(), dictionary.size());
+    assertNull(dictionary.get("\u0000"));
+  }
+}
@@ -0,0 +1,138 @@
+package ua.kpi.restaurants.test.unittest;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import ua.kpi.restaurants.logic.common.algorithms.TermStore;
+import ua.kpi.restaurants.logic.common.exceptions.ProjectRuntimeException;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * The {@code TermStoreTest} represents testing class.
+ * It tests {@link TermStore} ids of stored terms (duplicates included), lookups of missing terms
+ * and bounds checks of {@code length}, {@code charAt} and {@code get} methods.
+ */
+@RunWith(Parameterized.class)
+public final class TermStoreTest {
+  private final List<String> terms;
+
+  /**
+   * Initializes test parameters.
+   *
+   * @param terms terms to store
+   */
+  public TermStoreTest(@NotNull List<String> terms) {
+    this.terms = terms;
+  }
+
+  /**
+   * Creates testing data.
+   *
+   * @return collection {@code Collection<Object[]>} of objects for testing
+   */
+  @NotNull
+  @Parameters
+  public static Collection<Object[]> data() {
+    List<String> words;
+    try {
+      words = new ArrayList<>(TestHelper.processStopWords(TestHelper.STOP_WORDS));
+    } catch (IOException e) {
+      throw new ProjectRuntimeException("Error while initializing test cases", e);
+    }
+
+    List<String> doubled = new ArrayList<>(words);
+    doubled.addAll(words);
+
+    Object[][] tests = {
+        {Collections.emptyList()},
+        {Collections.singletonList("")},
+        {Arrays.asList("a", "b", "a", "", "ab", "b", "")},
+        {words},
+        {doubled}
+    };
+
+    return Arrays.asList(tests);
+  }
+
+  private static void assertOutOfBounds(Runnable action) {
+    try {
+      action.run();
+      fail("IndexOutOfBoundsException expected");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+  }
+
+  /**
+   * Tests that {@link TermStore} gives ids to distinct terms in the order of their first occurrence
+   * and retrieves them back by {@code get}, {@code length}, {@code charAt} and {@code indexOf} methods.
+   */
+  @Test
+  public void testTerms() {
+    TermStore store = new TermStore(terms);
+    List<String> distinct = new ArrayList<>(new LinkedHashSet<>(terms));
+
+    assertEquals(distinct.size(), store.size());
+    for (int id = 0; id < distinct.size(); id++) {
+      String term = distinct.get(id);
+      assertEquals(term, store.get(id));
+      assertEquals(term.length(), store.length(id));
+      assertEquals(id, store.indexOf(term));
+      assertEquals(id, store.indexOf(new StringBuilder(term)));
+
+      for (int i = 0; i < term.length(); i++) {
+        assertEquals(term.charAt(i), store.charAt(id, i));
+      }
+    }
+  }
+
+  /**
+   * Tests that {@link TermStore} {@code indexOf} method retrieves {@code -1} for terms that are not stored.
+   */
+  @Test
+  public void testMissing() {
+    TermStore store = new TermStore(terms);
+    Set<String> stored = new HashSet<>(terms);
+
+    for (String term : terms) {
+      for (String missing : Arrays.asList(term + "#", "#" + term, term.isEmpty() ? "#" : term.substring(1))) {
+        if (!stored.contains(missing)) {
+          assertEquals(-1, store.indexOf(missing));
+        }
+      }
+    }
+
+    if (!stored.contains("")) {
+      assertEquals(-1, store.indexOf(""));
+    }
+  }
+
+  /**
+   * Tests that {@link TermStore} {@code length}, {@code charAt} and {@code get} methods
+   * throw {@link IndexOutOfBoundsException} for ids and positions out of range.
+   */
+  @Test
+  public void testBounds() {
+    TermStore store = new TermStore(terms);
+    int size = store.size();
+
+    assertOutOfBounds(() -> store.get(-1));
+    assertOutOfBounds(() -> store.get(size));
+    assertOutOfBounds(() -> store.length(-1));
+    assertOutOfBounds(() -> store.length(size));
+    assertOutOfBounds(() -> store.charAt(size, 0));
+
+    for (int id = 0; id < size; id++) {
+      int current = id;
+      assertOutOfBounds(() -> store.charAt(current, -1));
+      assertOutOfBounds(() -> store.charAt(current, store.length(current)));
+    }
+  }
+}
@@ -16,6 +16,12 @@ import org.junit.runners.Suite.SuiteClasses;
  *    <li>{@link ua.kpi.restaurants.logic.common.utils.metrics.Levenstein}</li>
  *    <li>{@link ua.kpi.restaurants.logic.strategies.preprocessing.routines.Denoiser}</li>
  *    <li>{@link ua.kpi.restaurants.logic.common.algorithms.BKTreeSet}</li>
+ *    <li>{@link ua.kpi.restaurants.logic.common.algorithms.SimilaritySet} implementations</li>
+ *    <li>{@link ua.kpi.restaurants.logic.common.algorithms.VPTreeSet}</li>
+ *    <li>{@link ua.kpi.restaurants.logic.common.algorithms.TermStore}</li>
+ *    <li>{@link ua.kpi.restaurants.logic.common.utils.ConcurrentCache}</li>
+ *    <li>{@link ua.kpi.restaurants.logic.strategies.preprocessing.QueryTokenizer}</li>
+ *    <li>{@link ua.kpi.restaurants.logic.strategies.preprocessing.routines.Stemmer}</li>
  * </ul>
  */
 @RunWith(Suite.class)
@@ -24,7 +30,13 @@ import org.junit.runners.Suite.SuiteClasses;
     LevensteinTest.class,
     DenoiserTest.class,
     BKTreeSetSimilarityTest.class,
-    BKTreeSetContainsTest.class
+    BKTreeSetContainsTest.class,
+    SimilaritySetTest.class,
+    VPTreeSetNearestTest.class,
+    TermStoreTest.class,
+    ConcurrentCacheTest.class,
+    TokenizerTest.class,
+    StemmerTest.class
 })
 
 public class TestSuit {
@@ -0,0 +1,96 @@
+package ua.kpi.restaurants.test.unittest;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import ua.kpi.restaurants.logic.strategies.preprocessing.QueryTokenizer;
+import ua.kpi.restaurants.logic.strategies.preprocessing.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static ua.kpi.restaurants.logic.strategies.preprocessing.QueryPreprocessor.DELIMITERS;
+
+/**
+ * The {@code TokenizerTest} represents testing class.
+ * It tests that {@link QueryTokenizer} divides text by words the same way as the regular expression does.
+ */
+@RunWith(Parameterized.class)
+public final class TokenizerTest {
+  private static final String CUSTOM_DELIMITERS = "[,;]+|\\s";
+
+  private final String text;
+
+  /**
+   * Initializes test parameters.
+   *
+   * @param text text to tokenize
+   */
+  public TokenizerTest(@NotNull String text) {
+    this.text = text;
+  }
+
+  /**
+   * Creates testing data.
+   *
+   * @return collection {@code Collection<Object[]>} of objects for testing
+   */
+  @NotNull
+  @Parameters
+  public static Collection<Object[]> data() {
+    Object[][] tests = {
+        {""},
+        {"   "},
+        {"jvm"},
+        {"sample test case"},
+        {"  leading and trailing  "},
+        {"punctuation, (brackets) and-dashes; \"quotes\"!"},
+        {"«борщ» №5 с\tпампушками\n"},
+        {"a,,b;;c d,"},
+        {"tabs\tand\r\nnew lines\f\u000B"},
+        {"~`!@#$%^&*()_+={}[]|\\:;'<>?,./"},
+        {"unicode – dash and…ellipsis"}
+    };
+
+    return Arrays.asList(tests);
+  }
+
+  private static List<String> split(String text, String delimiters) {
+    return Arrays.stream(text.split(delimiters))
+        .filter(word -> !word.isEmpty())
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> tokenize(Tokenizer tokenizer) {
+    List<String> words = new ArrayList<>();
+    while (tokenizer.advance()) {
+      words.add(tokenizer.token());
+    }
+
+    return words;
+  }
+
+  /**
+   * Tests {@link QueryTokenizer} with the default delimiters.
+   */
+  @Test
+  public void testDefaultDelimiters() {
+    assertEquals(split(text, DELIMITERS), tokenize(new QueryTokenizer(text)));
+  }
+
+  /**
+   * Tests {@link QueryTokenizer} with custom delimiters.
+   */
+  @Test
+  public void testCustomDelimiters() {
+    assertEquals(split(text, CUSTOM_DELIMITERS),
+        tokenize(new QueryTokenizer(text, Pattern.compile(CUSTOM_DELIMITERS))));
+  }
+}
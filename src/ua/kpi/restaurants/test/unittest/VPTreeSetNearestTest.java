@@ -0,0 +1,112 @@
+package ua.kpi.restaurants.test.unittest;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import ua.kpi.restaurants.logic.common.algorithms.SimilaritySet;
+import ua.kpi.restaurants.logic.common.algorithms.VPTreeSet;
+import ua.kpi.restaurants.logic.common.exceptions.ProjectRuntimeException;
+import ua.kpi.restaurants.logic.common.utils.metrics.Levenstein;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.runners.Parameterized.Parameters;
+
+/**
+ * The {@code VPTreeSetNearestTest} represents testing class.
+ * It tests {@link VPTreeSet} {@code nearest} methods against the brute force search.
+ */
+@RunWith(Parameterized.class)
+public class VPTreeSetNearestTest {
+  private static final String TEST_FILE = "resources/tests/similarity.csv";
+  private static final Levenstein METRIC = new Levenstein();
+  private static final int K = 5;
+  private static final Set<String> WORDS;
+  private static VPTreeSet tree;
+
+  private final String word;
+
+  static {
+    try {
+      WORDS = TestHelper.processStopWords(TestHelper.STOP_WORDS);
+    } catch (IOException e) {
+      throw new ProjectRuntimeException("Error while initializing test cases", e);
+    }
+  }
+
+  /**
+   * Initializes test parameters.
+   *
+   * @param word test word
+   */
+  public VPTreeSetNearestTest(@NotNull String word) {
+    this.word = word;
+  }
+
+  /**
+   * Initializes {@link VPTreeSet} with {@code WORDS}
+   */
+  @BeforeClass
+  public static void load() {
+    tree = new VPTreeSet(WORDS, METRIC);
+  }
+
+  /**
+   * Loads the testing data from {@code TEST_FILE} file.
+   *
+   * @return the collection {@code Collection<Object[]>} of objects for testing
+   * @throws FileNotFoundException if {@code TEST_FILE} file is missing
+   */
+  @NotNull
+  @Parameters
+  public static Collection<Object[]> data() throws FileNotFoundException {
+    List<Object[]> tests = new ArrayList<>();
+
+    try (Scanner scanner = new Scanner(new File(TEST_FILE))) {
+      while (scanner.hasNextLine()) {
+        tests.add(new Object[]{scanner.nextLine()});
+      }
+    }
+
+    return tests;
+  }
+
+  /**
+   * Tests {@link VPTreeSet#nearest(String, int)}.
+   */
+  @Test
+  public void testNearest() {
+    assertEquals(expected(Integer.MAX_VALUE), actual(tree.nearest(word, K)));
+  }
+
+  /**
+   * Tests {@link VPTreeSet#nearest(String, int, int)}.
+   */
+  @Test
+  public void testNearestWithinDistance() {
+    int maxDistance = METRIC.apply(word, tree.nearest(word, 1).get(0).getElement()) + 1;
+    assertEquals(expected(maxDistance), actual(tree.nearest(word, K, maxDistance)));
+  }
+
+  private List<String> expected(int maxDistance) {
+    return WORDS.stream()
+        .filter(e -> METRIC.apply(e, word) <= maxDistance)
+        .sorted(Comparator.comparingInt((String e) -> METRIC.apply(e, word)).thenComparing(e -> e))
+        .limit(K)
+        .map(e -> e + " " + METRIC.apply(e, word))
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> actual(List<SimilaritySet.Entry<String>> entries) {
+    return entries.stream()
+        .map(e -> e.getElement() + " " + (int) e.getSimilarity())
+        .collect(Collectors.toList());
+  }
+}